@@ -0,0 +1,29 @@
+#!/bin/sh
+# Builds the simulation into build/mcc.jar together with build/mcc.jsa, an AppCDS archive of the classes a data
+# collection run loads, already parsed and verified, so that each short execution starts quickly:
+#     ./build.sh
+#     java -XX:SharedArchiveFile=build/mcc.jsa -XX:TieredStopAtLevel=1 -jar build/mcc.jar config=run.properties
+# TieredStopAtLevel=1 compiles with the quick compiler only, which suits runs of well under a second; leave it out
+# for long data collection.  Any class not within the archive is loaded as usual.  The archive only works with the
+# JDK which made it, so run this again after changing JDK.
+# The vector implementation of PlacementScorer, within src/vector, is compiled into the jar too if the JDK has the
+# incubating Vector API.  It is only used when the jar is run with "java --add-modules jdk.incubator.vector -jar";
+# otherwise, or if the JDK lacks the API, the scalar implementation is used.
+set -e
+cd "$(dirname "$0")"
+rm -rf build/classes build/training
+mkdir -p build/classes
+# Concatenate strings by StringBuilder rather than invokedynamic, whose call sites are each bootstrapped at startup
+javac -encoding UTF-8 -XDstringConcat=inline -d build/classes src/*.java
+if java --list-modules | grep -q '^jdk.incubator.vector@'; then
+    javac -encoding UTF-8 -XDstringConcat=inline --add-modules jdk.incubator.vector -cp build/classes \
+        -d build/classes src/vector/*.java
+else
+    echo "No jdk.incubator.vector within this JDK; the jar will only score placements by scalar"
+fi
+jar --create --file build/mcc.jar --main-class Main -C build/classes .
+# A short training run, whose output is thrown away, decides which classes are archived
+java -XX:ArchiveClassesAtExit=build/mcc.jsa -jar build/mcc.jar mode=collect runs=2 format=none \
+    output=build/training > /dev/null
+rm -rf build/training
+echo "Built build/mcc.jar and build/mcc.jsa"
@@ -0,0 +1,138 @@
+package mcc;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * This class holds the JMH benchmarks of the hot paths of the simulation.  The operations are made by the Benchmark
+ * class of the simulation, which is within the unnamed package and so is found by name; each benchmark method is named
+ * after its operation.  Every benchmark but resolveTask is measured for each task count given to the tasks parameter.
+ * To Run:
+ * 1 - Navigate to MCCProject in a Bash terminal
+ * 2 - Execute "mvn -P jmh package" in the terminal
+ * 3 - Execute "java -jar target/benchmarks.jar -rf json" in the terminal; add "-p tasks=10,100" for other task counts
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+public class MccBenchmark {
+
+    /**
+     * The operation of a benchmark for a number of tasks.
+     */
+    @State(Scope.Thread)
+    public static class Tasks {
+        @Param({"10", "20", "40"})
+        public int tasks;               // Number of tasks
+
+        Callable<Object> operation;     // Operation of the benchmark being run
+
+        @Setup
+        public void setup(BenchmarkParams params) throws Exception {
+            operation = operation(params, tasks);
+        } // setup
+    }
+
+    /**
+     * The operation of a benchmark not parameterized by task count.
+     */
+    @State(Scope.Thread)
+    public static class Single {
+        Callable<Object> operation;     // Operation of the benchmark being run
+
+        @Setup
+        public void setup(BenchmarkParams params) throws Exception {
+            operation = operation(params, 0);
+        } // setup
+    }
+
+    /**
+     * @param params Parameters of the benchmark being run
+     * @param n      Number of tasks
+     * @return The operation named after the benchmark method, as made by the simulation's Benchmark class
+     * @throws Exception If the operation cannot be made
+     */
+    @SuppressWarnings("unchecked")
+    private static Callable<Object> operation(BenchmarkParams params, int n) throws Exception {
+        String name = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+        Method operation = Class.forName("Benchmark").getDeclaredMethod("operation", String.class, int.class);
+        operation.setAccessible(true);
+        return (Callable<Object>) operation.invoke(null, name, n);
+    } // operation
+
+    @Benchmark
+    public Object resolveTask(Single s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object resolveTasks(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object calcCost(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object random(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object lc100(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object lac100(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object rm100(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object dp(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object annealing(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object genetic(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object onlineGreedy(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+
+    @Benchmark
+    public Object onlineLookahead(Tasks s) throws Exception {
+        return s.operation.call();
+    }
+}
@@ -10,6 +10,10 @@ class AccessPoint {
     private double CAP_TRANS_RATE;      // Bits per second
     private double CAP_PROC_CST;        // Constant related to processing task on CAP
     
+    private EventSimulator simulator;   // Simulator the servers below belong to
+    private int cpuServer;              // Access Point CPU within the simulator
+    private int backhaulServer;         // Transmission to and from the Remote Cloud within the simulator
+    
     /**
      * This constructor initializes a new Access Point with the specified values.
      *
@@ -35,12 +39,78 @@ class AccessPoint {
     void resolveTask(Task t) throws CustomException {
         // If task can be computed on Access Point...
         if (t.getCompAP()) {
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.COMPUTED_AP);
+            }
             // Compute on Access Point
             t.processTask(0, CAP_CPU_RATE, CAP_PROC_CST);
         } else {
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.SENT_TO_RC);
+            }
             // Otherwise, pass task to Remote Cloud
             t.sendToRC(CAP_TRANS_RATE, CAP_TRANS_RATE);
             remoteCloud.resolveTask(t);
         }
     } // resolveTask
+    
+    /**
+     * Add the servers of the Access Point, its CPU and its link to the remote cloud, and of the remote cloud to an
+     * event simulator. Nothing is added if they already belong to the simulator.
+     *
+     * @param sim Simulator to add the servers to
+     */
+    void attach(EventSimulator sim) {
+        if (simulator == sim) {
+            return;
+        }
+        simulator = sim;
+        cpuServer = sim.addServer(CAP_CPU_RATE);
+        backhaulServer = sim.addServer(CAP_TRANS_RATE);
+        remoteCloud.attach(sim);
+    } // attach
+    
+    /**
+     * Add the stages of a task which has arrived at the access point to its route; computed on the Access Point or
+     * sent to the remote cloud and its output received back.
+     *
+     * @param sim      Simulator the task belongs to
+     * @param in       Input data size
+     * @param out      Output data size
+     * @param cpb      Cycles per bit
+     * @param location 1: Access Point, 2: Remote Cloud
+     */
+    void route(EventSimulator sim, double in, double out, double cpb, int location) {
+        if (location == 1) {
+            sim.addStage(cpuServer, in * cpb);
+        } else {
+            sim.addStage(backhaulServer, in);
+            remoteCloud.route(sim, in, cpb);
+            sim.addStage(backhaulServer, out);
+        }
+    } // route
+    
+    /**
+     * Resolve the tasks of a batch which have arrived at the access point. Tasks placed on the Access Point are
+     * computed here, those placed on the Remote Cloud are sent on to it.
+     *
+     * @param batch Tasks to be resolved
+     */
+    void resolveBatch(TaskBatch batch) {
+        double[] in = batch.inputData();
+        double[] out = batch.outputData();
+        double[] cpb = batch.cyclesPerBit();
+        byte[] loc = batch.location();
+        double[] energy = batch.energy();
+        double[] time = batch.time();
+        for (int k = 0; k < batch.size(); k++) {
+            if (loc[k] == 1) { // Compute on Access Point
+                energy[k] += CAP_PROC_CST * in[k];
+                time[k] += in[k] * cpb[k] / CAP_CPU_RATE;
+            } else if (loc[k] == 2) { // Send to Remote Cloud
+                time[k] += in[k] / CAP_TRANS_RATE + out[k] / CAP_TRANS_RATE;
+            }
+        }
+        remoteCloud.resolveBatch(batch);
+    } // resolveBatch
 }
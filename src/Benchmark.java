@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * This class makes the operations measured by the JMH benchmarks of jmh/mcc/MccBenchmark.java, so that changes which
+ * slow the hot paths of the simulation down can be found: resolving a single task, resolving all the tasks of the
+ * local user, calculating the cost, and each task offloading method from creating the tasks to the cost of processing
+ * them, LAC 100 by dynamic programming and by metaheuristics, and placing arriving tasks online.  JMH cannot run
+ * benchmarks within the unnamed package the simulation is written in, so the benchmarks, within a package of their
+ * own, find each operation by name through operation.  Each operation returns its result for JMH to consume.
+ * To Run:
+ * 1 - Navigate to MCCProject in a Bash terminal
+ * 2 - Execute "mvn -P jmh package" in the terminal
+ * 3 - Execute "java -jar target/benchmarks.jar -rf json" in the terminal; add "-p tasks=10,100" for other task counts
+ */
+class Benchmark {
+
+    private static final long SEED = 587469L;                   // Random number seed
+    private static final Parameters PARAMS = new Parameters();  // Values used within the paper
+
+    /**
+     * @param name Name of a benchmark
+     * @param n    Number of tasks
+     * @return The operation of the benchmark
+     * @throws CustomException If there is no benchmark of the name
+     */
+    static Callable<Object> operation(String name, int n) throws CustomException {
+        switch (name) {
+            case "resolveTask":
+                return resolveTask();
+            case "resolveTasks":
+                return resolveTasks(n);
+            case "calcCost":
+                return calcCost(n);
+            case "random":
+                return method(3, n);
+            case "lc100":
+                return method(4, n);
+            case "lac100":
+                return method(5, n);
+            case "rm100":
+                return method(6, n);
+            case "dp":
+                return dynamicProgram(n);
+            case "annealing":
+                return metaheuristic(Metaheuristic.ANNEALING, n);
+            case "genetic":
+                return metaheuristic(Metaheuristic.GENETIC, n);
+            case "onlineGreedy":
+                return online(0, n);
+            case "onlineLookahead":
+                return online(PolicyRegistry.ONLINE_LOOKAHEAD, n);
+            default:
+                throw new CustomException("ERROR: No benchmark named " + name);
+        }
+    } // operation
+
+    // Benchmarks
+
+    /**
+     * Resolving a single task on the local user, placed at each location in turn.
+     *
+     * @return The operation
+     */
+    private static Callable<Object> resolveTask() {
+        LocalUser local = Main.buildTopology(PARAMS);
+        Task t = new Task(PARAMS.get(Parameters.MAX_INPUT_SIZE), PARAMS.get(Parameters.MAX_OUTPUT_SIZE)
+                , PARAMS.get(Parameters.CYCLES_PER_BIT));
+        int[] location = {0};
+        return () -> {
+            t.reset();
+            t.mark(location[0]);
+            location[0] = (location[0] + 1) % CostModel.LOCATIONS;
+            local.resolveTask(t);
+            return t.totalEnergy();
+        };
+    } // resolveTask
+
+    /**
+     * Resolving all the tasks of the local user, placed at random; the tasks are reset and marked again each time.
+     *
+     * @param n Number of tasks
+     * @return The operation
+     */
+    private static Callable<Object> resolveTasks(int n) {
+        LocalUser local = Main.buildTopology(PARAMS);
+        ArrayList<Task> tasks = randomTasks(n);
+        int[] locations = randomLocations(n);
+        local.setTasks(tasks);
+        return () -> {
+            for (int k = 0; k < n; k++) {
+                tasks.get(k).reset();
+                tasks.get(k).mark(locations[k]);
+            }
+            local.resolveTasks();
+            return tasks.get(n - 1).totalEnergy();
+        };
+    } // resolveTasks
+
+    /**
+     * Calculating the cost of resolved tasks placed at random.
+     *
+     * @param n Number of tasks
+     * @return The operation
+     * @throws CustomException Indicates program error
+     */
+    private static Callable<Object> calcCost(int n) throws CustomException {
+        LocalUser local = Main.buildTopology(PARAMS);
+        ArrayList<Task> tasks = randomTasks(n);
+        int[] locations = randomLocations(n);
+        for (int k = 0; k < n; k++) {
+            tasks.get(k).mark(locations[k]);
+        }
+        local.setTasks(tasks);
+        local.resolveTasks();
+        return () -> Main.calcCost(tasks, PARAMS.get(Parameters.RHO));
+    } // calcCost
+
+    /**
+     * A task offloading method end to end, as in a data collection run: building the architecture, creating new
+     * tasks, marking them, resolving them and calculating their cost.
+     *
+     * @param test The associated numerical index of the task offloading method
+     * @param n    Number of tasks
+     * @return The operation
+     */
+    private static Callable<Object> method(int test, int n) {
+        long[] seed = {SEED};
+        return () -> Main.singleRun(PARAMS, test, seed[0]++, n);
+    } // method
+
+    /**
+     * LAC 100 by dynamic programming, from the cost model of the tasks to the placement.
+     *
+     * @param n Number of tasks
+     * @return The operation
+     * @throws CustomException Indicates program error
+     */
+    private static Callable<Object> dynamicProgram(int n) throws CustomException {
+        LocalUser local = Main.buildTopology(PARAMS);
+        TaskBatch batch = new TaskBatch(randomTasks(n));
+        int[] allowed = {0, 1, 2};
+        return () -> {
+            CostModel model = new CostModel(batch, local, PARAMS.get(Parameters.RHO));
+            return new DynamicProgram(model, PolicyRegistry.DP_EPSILON, PolicyRegistry.DP_CHOICES)
+                    .solve(allowed);
+        };
+    } // dynamicProgram
+
+    /**
+     * LAC 100 by a metaheuristic, from the cost model of the tasks to the placement, stopping once it stops finding
+     * better placements.
+     *
+     * @param method Metaheuristic.ANNEALING or Metaheuristic.GENETIC
+     * @param n      Number of tasks
+     * @return The operation
+     * @throws CustomException Indicates program error
+     */
+    private static Callable<Object> metaheuristic(int method, int n) throws CustomException {
+        LocalUser local = Main.buildTopology(PARAMS);
+        TaskBatch batch = new TaskBatch(randomTasks(n));
+        int[] allowed = {0, 1, 2};
+        return () -> {
+            CostModel model = new CostModel(batch, local, PARAMS.get(Parameters.RHO));
+            return new Metaheuristic(model, method, SEED, 0, PolicyRegistry.META_ROUNDS).search(allowed);
+        };
+    } // metaheuristic
+
+    /**
+     * Placing tasks online as each arrives, from a placer which has placed none.
+     *
+     * @param lookahead Further tasks the placer considers; 0 for greedy
+     * @param n         Number of tasks
+     * @return The operation
+     */
+    private static Callable<Object> online(int lookahead, int n) {
+        OnlinePlacer placer = new OnlinePlacer(Main.buildTopology(PARAMS), PARAMS.get(Parameters.RHO),
+                new int[]{0, 1, 2}, lookahead, n);
+        ArrayList<Task> tasks = randomTasks(n);
+        return () -> {
+            placer.reset();
+            for (Task t : tasks) {
+                placer.place(t);
+            }
+            return placer.getCost();
+        };
+    } // online
+
+    /**
+     * @param n Number of tasks
+     * @return n tasks with sizes spread over the same ranges as the simulation
+     */
+    private static ArrayList<Task> randomTasks(int n) {
+        SplittableRandom rand = new SplittableRandom(SEED);
+        double inRange = PARAMS.get(Parameters.MAX_INPUT_SIZE) - PARAMS.get(Parameters.MIN_INPUT_SIZE);
+        double outRange = PARAMS.get(Parameters.MAX_OUTPUT_SIZE) - PARAMS.get(Parameters.MIN_OUTPUT_SIZE);
+        ArrayList<Task> tasks = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            tasks.add(new Task(rand.nextDouble() * inRange + PARAMS.get(Parameters.MIN_INPUT_SIZE)
+                    , rand.nextDouble() * outRange + PARAMS.get(Parameters.MIN_OUTPUT_SIZE)
+                    , PARAMS.get(Parameters.CYCLES_PER_BIT)));
+        }
+        return tasks;
+    } // randomTasks
+
+    /**
+     * @param n Number of tasks
+     * @return A random location for each of n tasks
+     */
+    private static int[] randomLocations(int n) {
+        SplittableRandom rand = new SplittableRandom(SEED + 1);
+        int[] locations = new int[n];
+        for (int k = 0; k < n; k++) {
+            locations[k] = rand.nextInt(CostModel.LOCATIONS);
+        }
+        return locations;
+    } // randomLocations
+}
@@ -0,0 +1,86 @@
+/**
+ * This class performs an exhaustive search over every placement of the tasks within a cost model, as the nested loop
+ * searches do, but scores the placements a block at a time with a PlacementScorer rather than one at a time.  The
+ * placements are visited in lexicographic order and written task by task into the block, so the scorer can calculate
+ * the costs of several placements together, in the lanes of vectors when the Vector API is available.  The scorers
+ * produce the costs of CostModel.cost exactly, and the first placement of least cost is kept, so the placement found
+ * is that of the nested loop searches.  Works for any number of tasks and any subset of the locations.
+ */
+class BlockSearch {
+
+    private static final int BLOCK = 1 << 10;   // Placements scored together; a multiple of the lanes of any scorer
+
+    private int numTasks;               // Number of tasks to place
+    private PlacementScorer scorer;     // Calculates the cost of each block of placements
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model, with the vector scorer if it can be
+     * loaded.
+     *
+     * @param model Cost model of the tasks to be placed
+     */
+    BlockSearch(CostModel model) {
+        this(model, PlacementScorer.of(model));
+    } // Constructor
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model with the given scorer.
+     *
+     * @param model  Cost model of the tasks to be placed
+     * @param scorer Calculates the cost of each block of placements
+     */
+    BlockSearch(CostModel model, PlacementScorer scorer) {
+        numTasks = model.size();
+        this.scorer = scorer;
+    } // Constructor
+
+    /**
+     * This method finds the placement of minimum cost where each task is processed at one of the allowed locations.
+     * Of placements with equal cost, the one which comes first in lexicographic order is returned.
+     *
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Best location of each task
+     */
+    int[] search(int[] allowed) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int radix = allowed.length;             // Number of values each digit takes
+        int[] digit = new int[numTasks];        // Index into allowed for each task of the next placement
+        int[] codes = new int[numTasks * BLOCK]; // Location of task k in placement c of the block at k * BLOCK + c
+        double[] costs = new double[BLOCK];     // Cost of each placement of the block
+        int[] best = new int[numTasks];         // Best placement found
+        double bestCost = Double.MAX_VALUE;
+        long visited = 0;                       // Placements evaluated
+        boolean done = false;                   // Every placement has been written to a block
+
+        while (!done) {
+            // Write the next placements into the block, counting in base radix with the last task fastest
+            int count = 0;
+            while (count < BLOCK && !done) {
+                for (int k = 0; k < numTasks; k++) {
+                    codes[k * BLOCK + count] = allowed[digit[k]];
+                }
+                count++;
+                int j = numTasks - 1;
+                while (j >= 0 && ++digit[j] == radix) {
+                    digit[j--] = 0;
+                }
+                done = j < 0;
+            }
+            scorer.score(codes, BLOCK, count, costs);
+            visited += count;
+            for (int c = 0; c < count; c++) {
+                if (costs[c] < bestCost) {
+                    bestCost = costs[c];
+                    for (int k = 0; k < numTasks; k++) {
+                        best[k] = codes[k * BLOCK + c];
+                    }
+                }
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.BLOCK_PLACEMENTS, visited);
+            Metrics.record(Metrics.BLOCK_SEARCH, System.nanoTime() - start);
+        }
+        return best;
+    } // search
+}
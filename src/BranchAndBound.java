@@ -0,0 +1,411 @@
+import java.util.Arrays;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * This class finds the placement of minimum cost, as defined within the paper, for any number of tasks using a
+ * depth first branch-and-bound search.  Tasks are placed one at a time, longest first, and a partial placement is
+ * abandoned once a lower bound on the cost of completing it is no better than the best placement found so far.
+ * The bounds used are:
+ * 1 - the energy so far plus the least energy of each remaining task, plus the delay of the current makespan or of
+ *     the remaining least work poured into the locations as evenly as possible, and
+ * 2 - since the makespan is never less than a weighted average of the location delays, the energy so far plus the
+ *     weighted delay so far, plus for each remaining task the least of its energy plus its weighted delay.  This is
+ *     the Lagrangian bound of relaxing the makespan, so the weights are climbed towards the highest bound over a grid,
+ *     finer for more tasks, a step at a time, starting with those which last abandoned a placement.
+ * No bound exceeds the true cost, so the search returns the same placement as checking every placement.  With the
+ * climbed weights 100 tasks take under a second and 150 a few seconds, but the search still grows exponentially,
+ * and 200 take minutes, so past about 150 tasks a node limit should be set, keeping the best placement found.
+ */
+class BranchAndBound {
+
+    private static final int MIN_WEIGHT_STEPS = 16; // Least divisions of the whole when spreading the weights
+    private static final int MAX_WEIGHT_STEPS = 64; // Most divisions; between the two, one for each task
+
+    private CostModel model;            // Energy and time of each task at each location
+    private int numTasks;               // Number of tasks to place
+    private double rho;                 // Weight of the delay within the cost
+    private double[][] energy;          // Jules; energy[location][task]
+    private double[][] time;            // Seconds; time[location][task]
+
+    // Search state
+    private int[] allowed;              // Locations a task may be processed at
+    private int[] order;                // Order in which the tasks are placed
+    private int steps;                  // Divisions of the whole when spreading the weights
+    private int[] part;                 // Number of weights added by a part at each location; weights are numbered
+                                        // (steps + 1) * parts[0] + parts[1]
+    private double[] minEnergyLeft;     // Least energy of the tasks from order[i] onwards
+    private double[] minTimeLeft;       // Least time of the tasks from order[i] onwards
+    private double[][] minShareLeft;    // Least energy plus weighted delay of the tasks from order[i] onwards
+    private int lastPruned;             // Weights which last abandoned a partial placement
+    private int[] tries;                // Order the locations are tried in, allowed.length for each depth
+    private double[] increase;          // Cost increase of each location being tried
+    private double[] level;             // Scratch space for filling the locations with work
+    private double[] delay;             // Total time delay of each location
+    private int[] locations;            // Current partial placement
+    private int[] best;                 // Best placement found
+    private double bestCost;            // Cost of the best placement found
+    private long nodes;                 // Number of partial placements expanded
+    private long nodeLimit;             // Partial placements to expand before giving up on proving optimality
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model.
+     *
+     * @param model Cost model of the tasks to be placed
+     */
+    BranchAndBound(CostModel model) {
+        this.model = model;
+        numTasks = model.size();
+        rho = model.getRho();
+        energy = new double[CostModel.LOCATIONS][];
+        time = new double[CostModel.LOCATIONS][];
+        for (int loc = 0; loc < CostModel.LOCATIONS; loc++) {
+            energy[loc] = model.energyAt(loc);
+            time[loc] = model.timeAt(loc);
+        }
+        nodeLimit = Long.MAX_VALUE;
+    } // Constructor
+
+    /**
+     * This method finds the placement of minimum cost where each task is processed at one of the allowed locations.
+     *
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Best location of each task
+     */
+    int[] solve(int[] allowed) {
+        return solve(allowed, null);
+    } // solve
+
+    /**
+     * This method finds the placement of minimum cost, starting the search from the cheaper of a known placement and a
+     * greedy placement, each first improved by single moves.  A good starting placement lets more of the search be
+     * abandoned early but does not change the result.
+     *
+     * @param allowed   Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @param incumbent Placement to start from if it is cheaper, or null to start from a greedy placement
+     * @return Best location of each task
+     */
+    int[] solve(int[] allowed, int[] incumbent) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        this.allowed = allowed;
+        order = longestFirst();
+        minEnergyLeft = new double[numTasks + 1];
+        minTimeLeft = new double[numTasks + 1];
+        steps = max(MIN_WEIGHT_STEPS, min(MAX_WEIGHT_STEPS, numTasks)); // The bound needs to be finer for more tasks
+        part = new int[]{steps + 1, 1, 0};
+        minShareLeft = new double[(steps + 1) * (steps + 1)][]; // Filled as the search first reaches them
+        for (int i = numTasks - 1; i >= 0; i--) {
+            int k = order[i];
+            double e = Double.MAX_VALUE;
+            double t = Double.MAX_VALUE;
+            for (int loc : allowed) {
+                e = min(e, energy[loc][k]);
+                t = min(t, time[loc][k]);
+            }
+            minEnergyLeft[i] = minEnergyLeft[i + 1] + e;
+            minTimeLeft[i] = minTimeLeft[i + 1] + t;
+        }
+        int[] even = new int[CostModel.LOCATIONS]; // Start from weights spread evenly over the allowed locations
+        for (int i = 0; i < allowed.length; i++) {
+            even[allowed[i]] = i < allowed.length - 1 ? steps / allowed.length
+                    : steps - (allowed.length - 1) * (steps / allowed.length);
+        }
+        lastPruned = part[0] * even[0] + part[1] * even[1];
+        tries = new int[numTasks * allowed.length];
+        increase = new double[allowed.length];
+        level = new double[allowed.length];
+        delay = new double[CostModel.LOCATIONS];
+        locations = new int[numTasks];
+        best = improve(greedy());
+        bestCost = model.cost(best);
+        if (incumbent != null) { // Start from the known placement only if it improves to something cheaper
+            int[] known = improve(incumbent.clone());
+            double knownCost = model.cost(known);
+            if (knownCost < bestCost) {
+                best = known;
+                bestCost = knownCost;
+            }
+        }
+        nodes = 0;
+        branch(0, 0.0);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.BB_NODES, nodes);
+            Metrics.record(Metrics.BB_SEARCH, System.nanoTime() - start);
+        }
+        return best;
+    } // solve
+
+    /**
+     * This method places the task at position depth of the order at each allowed location in turn, cheapest first,
+     * and continues with the next task while the partial placement could still lead to a better placement.
+     *
+     * @param depth       Number of tasks already placed
+     * @param energySoFar Total energy of the tasks already placed
+     */
+    private void branch(int depth, double energySoFar) {
+        if (++nodes > nodeLimit) { // Out of time; keep the best placement found so far
+            return;
+        }
+        if (depth == numTasks) {
+            double cost = energySoFar + rho * max(delay[0], max(delay[1], delay[2]));
+            if (cost < bestCost) {
+                bestCost = cost;
+                System.arraycopy(locations, 0, best, 0, numTasks);
+            }
+            return;
+        }
+        int k = order[depth];
+        int first = depth * allowed.length;
+        cheapestFirst(k, tries, first);
+        for (int t = first; t < first + allowed.length; t++) {
+            int loc = tries[t];
+            double e = energySoFar + energy[loc][k];
+            delay[loc] += time[loc][k];
+            if (!bounded(depth + 1, e)) {
+                locations[k] = loc;
+                branch(depth + 1, e);
+            }
+            delay[loc] -= time[loc][k];
+        }
+    } // branch
+
+    /**
+     * This method checks whether a lower bound on the cost of every placement completing the current partial
+     * placement is no better than the best placement found, in which case the partial placement can be abandoned.
+     *
+     * @param depth       Number of tasks already placed
+     * @param energySoFar Total energy of the tasks already placed
+     * @return True if the partial placement cannot lead to a better placement
+     */
+    private boolean bounded(int depth, double energySoFar) {
+        double span = max(delay[0], max(delay[1], delay[2])); // Current makespan
+        if (energySoFar + minEnergyLeft[depth] + rho * max(span, fill(minTimeLeft[depth])) >= bestCost) {
+            return true;
+        }
+        int w = lastPruned;
+        double bound = averaged(w, depth, energySoFar);
+        while (bound < bestCost) { // Climb to the highest neighbouring bound until one abandons the placement
+            int next = -1;
+            for (int from : allowed) {
+                if (part(w, from) == 0) {
+                    continue;
+                }
+                for (int to : allowed) { // Move a part of the weight of from to to
+                    int near = w - part[from] + part[to];
+                    double b = to == from ? bound : averaged(near, depth, energySoFar);
+                    if (b > bound) {
+                        bound = b;
+                        next = near;
+                    }
+                }
+            }
+            if (next < 0) {
+                return false;
+            }
+            w = next;
+        }
+        lastPruned = w;
+        return true;
+    } // bounded
+
+    /**
+     * @param w           Weights of the location delays, by number
+     * @param depth       Number of tasks already placed
+     * @param energySoFar Total energy of the tasks already placed
+     * @return the lower bound averaging the location delays by the given weights
+     */
+    private double averaged(int w, int depth, double energySoFar) {
+        if (minShareLeft[w] == null) {
+            minShareLeft[w] = new double[numTasks + 1];
+            for (int i = numTasks - 1; i >= 0; i--) {
+                int k = order[i];
+                double s = Double.MAX_VALUE;
+                for (int loc : allowed) {
+                    s = min(s, energy[loc][k] + rho * part(w, loc) / steps * time[loc][k]);
+                }
+                minShareLeft[w][i] = minShareLeft[w][i + 1] + s;
+            }
+        }
+        double averaged = (delay[0] * part(w, 0) + delay[1] * part(w, 1) + delay[2] * part(w, 2)) / steps;
+        return energySoFar + rho * averaged + minShareLeft[w][depth];
+    } // averaged
+
+    /**
+     * @param w   Weights of the location delays, by number
+     * @param loc Location
+     * @return the parts of steps the weights give the delay of the location
+     */
+    private int part(int w, int loc) {
+        int first = w / (steps + 1);
+        int second = w % (steps + 1);
+        return loc == 0 ? first : loc == 1 ? second : steps - first - second;
+    } // part
+
+    /**
+     * This method pours work into the allowed locations, filling the least loaded first, and returns the level
+     * reached.  No placement of that much work can finish before this level.
+     *
+     * @param work Total time still to be placed
+     * @return Lowest possible makespan
+     */
+    private double fill(double work) {
+        for (int i = 0; i < allowed.length; i++) {
+            level[i] = delay[allowed[i]];
+        }
+        Arrays.sort(level);
+        double sum = 0.0;
+        for (int i = 0; i < level.length; i++) {
+            sum += level[i];
+            // Level if the work is spread over the i + 1 least loaded locations
+            double height = (sum + work) / (i + 1);
+            if (i == level.length - 1 || height <= level[i + 1]) {
+                return height;
+            }
+        }
+        return 0.0; // Unreachable as at least one location is allowed
+    } // fill
+
+    /**
+     * This method orders the allowed locations by how little placing a task there would increase the current cost.
+     *
+     * @param k      Task to place
+     * @param result Filled with the allowed locations, cheapest first, from position first
+     * @param first  First position of result to fill
+     */
+    private void cheapestFirst(int k, int[] result, int first) {
+        double span = max(delay[0], max(delay[1], delay[2]));
+        for (int i = 0; i < allowed.length; i++) {
+            int loc = allowed[i];
+            result[first + i] = loc;
+            increase[i] = energy[loc][k] + rho * max(0.0, delay[loc] + time[loc][k] - span);
+        }
+        // Insertion sort as there are at most three locations
+        for (int i = 1; i < allowed.length; i++) {
+            for (int j = i; j > 0 && increase[j] < increase[j - 1]; j--) {
+                double d = increase[j];
+                increase[j] = increase[j - 1];
+                increase[j - 1] = d;
+                int l = result[first + j];
+                result[first + j] = result[first + j - 1];
+                result[first + j - 1] = l;
+            }
+        }
+    } // cheapestFirst
+
+    /**
+     * @return the tasks ordered from the longest least time to the shortest
+     */
+    private int[] longestFirst() {
+        Integer[] boxed = new Integer[numTasks];
+        double[] key = new double[numTasks];
+        for (int k = 0; k < numTasks; k++) {
+            boxed[k] = k;
+            key[k] = Double.MAX_VALUE;
+            for (int loc : allowed) {
+                key[k] = min(key[k], time[loc][k]);
+            }
+        }
+        Arrays.sort(boxed, (a, b) -> Double.compare(key[b], key[a]));
+        int[] result = new int[numTasks];
+        for (int k = 0; k < numTasks; k++) {
+            result[k] = boxed[k];
+        }
+        return result;
+    } // longestFirst
+
+    /**
+     * @return a placement made by putting each task, longest first, where it increases the cost the least
+     */
+    private int[] greedy() {
+        int[] placement = new int[numTasks];
+        int[] cheapest = new int[allowed.length];
+        Arrays.fill(delay, 0.0);
+        for (int i = 0; i < numTasks; i++) {
+            int k = order[i];
+            cheapestFirst(k, cheapest, 0);
+            placement[k] = cheapest[0];
+            delay[cheapest[0]] += time[cheapest[0]][k];
+        }
+        Arrays.fill(delay, 0.0);
+        return placement;
+    } // greedy
+
+    /**
+     * This method repeatedly moves single tasks to a location which lowers the cost until no move helps.  The cost of
+     * a move is found from the difference the task makes alone; the sums are recomputed after each pass.
+     *
+     * @param placement Placement to improve; changed in place
+     * @return The improved placement
+     */
+    private int[] improve(int[] placement) {
+        double[] sums = new double[CostModel.LOCATIONS];    // Total time delay of each location
+        double tE = sum(placement, sums);                   // Total energy
+        double cost = tE + rho * max(sums[0], max(sums[1], sums[2]));
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (int k = 0; k < numTasks; k++) {
+                int from = placement[k];
+                for (int to : allowed) {
+                    if (to == from) {
+                        continue;
+                    }
+                    sums[from] -= time[from][k];
+                    sums[to] += time[to][k];
+                    double c = tE - energy[from][k] + energy[to][k] + rho * max(sums[0], max(sums[1], sums[2]));
+                    if (c < cost - 1e-12 * cost) { // Clearly better, so rounding cannot make moves cycle
+                        tE += energy[to][k] - energy[from][k];
+                        cost = c;
+                        placement[k] = to;
+                        from = to;
+                        moved = true;
+                    } else {
+                        sums[to] -= time[to][k];
+                        sums[from] += time[from][k];
+                    }
+                }
+            }
+            tE = sum(placement, sums); // Clear any rounding from the moves
+            cost = tE + rho * max(sums[0], max(sums[1], sums[2]));
+        }
+        return placement;
+    } // improve
+
+    /**
+     * This method sums the energy and per-location delays of a placement from scratch.
+     *
+     * @param placement Placement of the tasks
+     * @param sums      Filled with the total time delay of each location
+     * @return Total energy
+     */
+    private double sum(int[] placement, double[] sums) {
+        double tE = 0.0;
+        sums[0] = 0.0;
+        sums[1] = 0.0;
+        sums[2] = 0.0;
+        for (int k = 0; k < numTasks; k++) {
+            tE += energy[placement[k]][k];
+            sums[placement[k]] += time[placement[k]][k];
+        }
+        return tE;
+    } // sum
+
+    // Setter
+    void setNodeLimit(long limit) {
+        nodeLimit = limit;
+    } // setNodeLimit
+
+    // Getters
+    boolean isOptimal() {
+        return nodes <= nodeLimit;
+    }
+
+    double getBestCost() {
+        return bestCost;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+}
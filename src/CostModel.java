@@ -0,0 +1,109 @@
+import java.util.ArrayList;
+
+import static java.lang.Math.max;
+
+/**
+ * This class precomputes the energy and time needed to process each task at each of the three locations so that the
+ * cost, as defined within the paper, of any placement of the tasks can be evaluated without marking or resolving the
+ * tasks themselves.  The values are obtained by resolving the tasks as a batch at each location, which produces
+ * exactly the numbers the tasks would if they were marked and resolved.
+ */
+class CostModel {
+
+    static final int LOCATIONS = 3;     // 0: Local User, 1: Access Point, 2: Remote Cloud
+
+    private int numTasks;               // Number of tasks in the model
+    private double rho;                 // Jules per second; weight of the delay within the cost
+    private double[][] energy;          // Jules; energy[location][task]
+    private double[][] time;            // Seconds; time[location][task]
+
+    /**
+     * This constructor builds the energy and time tables for the given tasks.  The tasks themselves are left
+     * untouched.
+     *
+     * @param tasks Tasks to be placed
+     * @param local Local User which the tasks would be resolved by
+     * @param rho   Weight of the delay within the cost
+     * @throws CustomException Indicates program error
+     */
+    CostModel(ArrayList<Task> tasks, LocalUser local, double rho) throws CustomException {
+        this(new TaskBatch(tasks), local, rho);
+    } // Constructor
+
+    /**
+     * This constructor builds the energy and time tables for the given batch of tasks.  The batch is resolved with
+     * every task at each location in turn, so its placement and results are overwritten.
+     *
+     * @param batch Tasks to be placed
+     * @param local Local User which the tasks would be resolved by
+     * @param rho   Weight of the delay within the cost
+     */
+    CostModel(TaskBatch batch, LocalUser local, double rho) {
+        numTasks = batch.size();
+        this.rho = rho;
+        energy = new double[LOCATIONS][numTasks];
+        time = new double[LOCATIONS][numTasks];
+        for (int loc = 0; loc < LOCATIONS; loc++) {
+            batch.placeAll(loc);
+            local.resolveBatch(batch);
+            System.arraycopy(batch.energy(), 0, energy[loc], 0, numTasks);
+            System.arraycopy(batch.time(), 0, time[loc], 0, numTasks);
+        }
+    } // Constructor
+
+    /**
+     * This method calculates the cost, as defined within the paper, of processing the tasks at the given locations.
+     * The sums are accumulated in task order, exactly as Main.calcCost does, so that both produce identical results.
+     *
+     * @param locations Location of each task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Cost of processing all tasks
+     */
+    double cost(int[] locations) {
+        double tE = 0.0;        // Total energy
+        double timeL = 0.0;     // Total time delay from Local
+        double timeAP = 0.0;    // Total time delay from AP
+        double timeRC = 0.0;    // Total time delay from RC
+        int loc;
+        for (int k = 0; k < numTasks; k++) {
+            loc = locations[k];
+            tE += energy[loc][k];
+            if (loc == 0) timeL += time[0][k];
+            else if (loc == 1) timeAP += time[1][k];
+            else timeRC += time[2][k];
+        }
+        return tE + rho * max(timeL, max(timeAP, timeRC));
+    } // cost
+
+    // Getters
+    int size() {
+        return numTasks;
+    }
+
+    double getRho() {
+        return rho;
+    }
+
+    double getEnergy(int location, int task) {
+        return energy[location][task];
+    }
+
+    double getTime(int location, int task) {
+        return time[location][task];
+    }
+
+    /**
+     * @param location 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return energy of every task at the location; shared with the model, so it must not be modified
+     */
+    double[] energyAt(int location) {
+        return energy[location];
+    }
+
+    /**
+     * @param location 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return time of every task at the location; shared with the model, so it must not be modified
+     */
+    double[] timeAt(int location) {
+        return time[location];
+    }
+}
@@ -1,7 +1,11 @@
 /**
- * This class implements a custom exception used for outputting error information should an error occur.
+ * This class implements a custom exception used for outputting error information should an error occur.  The stack
+ * trace is only filled in when the program is run with "java -Ddebug=true Main", as the message is what is printed to
+ * the user and filling in the trace is the most costly part of throwing.
  */
 class CustomException extends Exception {
+
+    private static final boolean TRACE = Boolean.getBoolean("debug"); // Fill in the stack trace
     
     private String message;
     
@@ -11,6 +15,7 @@ class CustomException extends Exception {
      * @param errorMsg Error message
      */
     CustomException(String errorMsg) {
+        super(errorMsg, null, false, TRACE);
         message = errorMsg;
     } // Constructor
     
@@ -0,0 +1,382 @@
+import java.util.Arrays;
+
+/**
+ * This class places a batch of tasks with deadlines so that they use little energy while every task completes by its
+ * deadline, where that is possible.  The tasks are released together, and each location processes the tasks placed at
+ * it one after another in task order, as the simulator does and as the delay of the cost, as defined within the paper,
+ * sums their times.  A task therefore completes once every task before it at its location and itself have been
+ * processed, and a placement meets every deadline if each task does by that time.
+ * <p>
+ * If there are at most EXACT_PLACEMENTS placements, every one is tried and the placement of least energy which meets
+ * every deadline is kept.  Otherwise, or if no placement meets every deadline, the tasks are placed one at a time in
+ * task order, each at the location of least energy it fits within.  A task fits within a location if it completes by
+ * its deadline after the tasks there before it, and every task there after it which meets its deadline has at least
+ * its time to spare.  Each location keeps the time of its tasks in a Fenwick tree and the time to spare of each in a
+ * segment tree, both by task, so whether a task fits, placing it and removing it again take O(log n) for n tasks.  A
+ * task which fits nowhere misses its deadline and is placed at its location of least energy.  Tasks are then moved,
+ * those of greatest weight first and then those which lose the most energy per second of their least-energy location
+ * if not placed there, to locations of less energy, and tasks which miss their deadline to locations they fit within,
+ * moving one other task out of the way if need be, until no move is left, so a batch of hundreds of tasks is placed
+ * in milliseconds.  This search is a heuristic: the
+ * problem is NP-hard, and the placement it finds may miss deadlines which some placement meets, or use more energy
+ * than the least.
+ */
+class DeadlinePlacer {
+
+    static final double TOLERANCE = 1e-9;   // Seconds; a task placed to meet its deadline completes this much before it
+    private static final double GAIN = 1e-9;    // Jules; least energy a move must save
+    static final int EXACT_PLACEMENTS = 59049;  // Most placements tried one by one; 3 locations for 10 tasks
+
+    private CostModel model;            // Energy and time of each task at each location
+    private int numTasks;               // Number of tasks placed
+    private double[] deadline;          // Seconds after release each task should complete by
+    private double[] weight;            // Importance of meeting the deadline of each task
+    private int[] allowed;              // Locations a task may be processed at
+    private int leaves;                 // Leaves of each segment tree; a power of 2 no less than numTasks
+    private double[][] time;            // Fenwick tree of the time of the tasks at each location, by task
+    private double[][] spare;           // Segment tree of the least time to spare below each node, by location
+    private double[][] added;           // Time added to the time to spare of every task below each node, by location
+
+    /**
+     * This constructor prepares to place the tasks of the given cost model.  The rho of the model is not used.
+     *
+     * @param model    Cost model of the tasks to be placed
+     * @param deadline Seconds after release each task should complete by; Double.POSITIVE_INFINITY for none
+     * @param weight   Importance of meeting the deadline of each task
+     * @param allowed  Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     */
+    DeadlinePlacer(CostModel model, double[] deadline, double[] weight, int[] allowed) {
+        this.model = model;
+        this.deadline = deadline;
+        this.weight = weight;
+        this.allowed = allowed;
+        numTasks = model.size();
+        leaves = Integer.highestOneBit(Math.max(1, numTasks - 1)) << 1;
+        time = new double[CostModel.LOCATIONS][numTasks + 1];
+        spare = new double[CostModel.LOCATIONS][2 * leaves];
+        added = new double[CostModel.LOCATIONS][2 * leaves];
+        for (double[] s : spare) {
+            Arrays.fill(s, Double.POSITIVE_INFINITY); // No task, so no deadline to meet
+        }
+    } // Constructor
+
+    /**
+     * This method places the tasks, by trying every placement if there are at most EXACT_PLACEMENTS of them and one
+     * meets every deadline, otherwise by search.  It may only be called once.
+     *
+     * @return Location of each task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     */
+    int[] place() {
+        if (Math.pow(allowed.length, numTasks) <= EXACT_PLACEMENTS) {
+            int[] exact = placeExact();
+            if (exact != null) {
+                return exact;
+            }
+        }
+        return search();
+    } // place
+
+    /**
+     * This method tries every placement of the tasks at their allowed locations.
+     *
+     * @return Location of each task in the placement of least energy which meets every deadline, or null if none does
+     */
+    private int[] placeExact() {
+        int[] choice = new int[numTasks];           // Index within allowed of the location of each task
+        double[] delay = new double[CostModel.LOCATIONS];
+        int[] best = null;
+        double least = Double.POSITIVE_INFINITY;    // Energy of the best placement
+        do {
+            Arrays.fill(delay, 0.0);
+            boolean fits = true;
+            for (int k = 0; k < numTasks && fits; k++) {
+                int loc = allowed[choice[k]];
+                delay[loc] += model.getTime(loc, k);
+                fits = delay[loc] <= deadline[k] - TOLERANCE;
+            }
+            if (fits) {
+                double energy = 0.0;
+                for (int k = 0; k < numTasks; k++) {
+                    energy += model.getEnergy(allowed[choice[k]], k);
+                }
+                if (energy < least) {
+                    least = energy;
+                    best = new int[numTasks];
+                    for (int k = 0; k < numTasks; k++) {
+                        best[k] = allowed[choice[k]];
+                    }
+                }
+            }
+        } while (nextChoice(choice));
+        return best;
+    } // placeExact
+
+    /**
+     * @param choice Index within allowed of the location of each task; advanced to the next placement
+     * @return If there is a next placement
+     */
+    private boolean nextChoice(int[] choice) {
+        for (int k = 0; k < numTasks; k++) {
+            if (++choice[k] < allowed.length) {
+                return true;
+            }
+            choice[k] = 0;
+        }
+        return false;
+    } // nextChoice
+
+    /**
+     * This method places the tasks by search, however many there are.  It may only be called once.
+     *
+     * @return Location of each task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     */
+    int[] search() {
+        int[] locations = new int[numTasks];
+        boolean[] meets = new boolean[numTasks];    // If the task is placed to meet its deadline
+        int[][] byEnergy = new int[numTasks][];     // Allowed locations of each task, by increasing energy
+        Integer[] order = new Integer[numTasks];    // Order the tasks are moved in
+        double[] regret = new double[numTasks];     // Energy lost per second of the location of least energy taken
+        for (int k = 0; k < numTasks; k++) {
+            final int task = k;
+            byEnergy[k] = Arrays.stream(allowed).boxed().sorted((a, b) -> {
+                int c = Double.compare(model.getEnergy(a, task), model.getEnergy(b, task));
+                return c != 0 ? c : Double.compare(model.getTime(a, task), model.getTime(b, task));
+            }).mapToInt(Integer::intValue).toArray();
+            regret[k] = byEnergy[k].length < 2 ? 0.0 : (model.getEnergy(byEnergy[k][1], k)
+                    - model.getEnergy(byEnergy[k][0], k)) / model.getTime(byEnergy[k][0], k);
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> weight[a] != weight[b] ? Double.compare(weight[b], weight[a])
+                : Double.compare(regret[b], regret[a]));
+
+        for (int k = 0; k < numTasks; k++) { // So no task is delayed past its deadline by a task placed after it
+            for (int loc : byEnergy[k]) {
+                if (fits(loc, k)) {
+                    insert(loc, k, true);
+                    locations[k] = loc;
+                    meets[k] = true;
+                    break;
+                }
+            }
+            if (!meets[k]) {
+                insert(byEnergy[k][0], k, false);
+                locations[k] = byEnergy[k][0];
+            }
+        }
+
+        // Each move uses less energy or meets one more deadline, so they end
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (int k : order) {
+                moved |= move(k, locations, meets, byEnergy);
+            }
+        }
+        return locations;
+    } // search
+
+    /**
+     * This method moves a task to a location of less energy it fits within, or if it misses its deadline, to any
+     * location it fits within.  If it fits within none, it may move there by moving one task already there to another
+     * location it fits within, if the energy of both is then less or the task then meets its deadline.
+     *
+     * @param task      Task to move
+     * @param locations Location of each task; updated
+     * @param meets     If each task is placed to meet its deadline; updated
+     * @param byEnergy  Allowed locations of each task, by increasing energy
+     * @return If any task was moved
+     */
+    private boolean move(int task, int[] locations, boolean[] meets, int[][] byEnergy) {
+        int from = locations[task];
+        double energy = meets[task] ? model.getEnergy(from, task) : Double.POSITIVE_INFINITY;
+        remove(from, task);
+        for (int loc : byEnergy[task]) {
+            double saved = energy - model.getEnergy(loc, task);
+            if (saved <= GAIN) {
+                break;
+            }
+            if (fits(loc, task)) {
+                insert(loc, task, true);
+                locations[task] = loc;
+                meets[task] = true;
+                return true;
+            }
+            for (int other = 0; other < numTasks; other++) {
+                if (locations[other] != loc || !meets[other] || other == task) {
+                    continue;
+                }
+                remove(loc, other);
+                if (fits(loc, task)) {
+                    insert(loc, task, true);
+                    for (int to : byEnergy[other]) {
+                        if (to != loc && saved + model.getEnergy(loc, other) - model.getEnergy(to, other) > GAIN
+                                && fits(to, other)) {
+                            insert(to, other, true);
+                            locations[other] = to;
+                            locations[task] = loc;
+                            meets[task] = true;
+                            return true;
+                        }
+                    }
+                    remove(loc, task);
+                }
+                insert(loc, other, true);
+            }
+        }
+        insert(from, task, meets[task]);
+        return false;
+    } // move
+
+    /**
+     * @param loc  Location
+     * @param task Task not placed at the location
+     * @return If the task and every task at the location which meets its deadline would still meet it were the task
+     * placed there
+     */
+    private boolean fits(int loc, int task) {
+        double t = model.getTime(loc, task);
+        return before(loc, task) + t <= deadline[task] - TOLERANCE && later(loc, task) >= t + TOLERANCE;
+    } // fits
+
+    /**
+     * @param loc  Location
+     * @param task Task
+     * @return Least time to spare of the tasks at the location after the task which meet their deadlines
+     */
+    private double later(int loc, int task) {
+        return least(spare[loc], added[loc], 1, 0, leaves - 1, task + 1, numTasks - 1);
+    } // later
+
+    /**
+     * This method places a task at a location, delaying every later task there by its time.  If it is to meet its
+     * deadline it must fit within the location.
+     *
+     * @param loc   Location
+     * @param task  Task not placed at the location
+     * @param meets If the task meets its deadline; otherwise its time to spare is not kept
+     */
+    private void insert(int loc, int task, boolean meets) {
+        double t = model.getTime(loc, task);
+        set(spare[loc], added[loc], 1, 0, leaves - 1, task,
+                meets ? deadline[task] - before(loc, task) - t : Double.POSITIVE_INFINITY);
+        add(spare[loc], added[loc], 1, 0, leaves - 1, task + 1, numTasks - 1, -t);
+        for (int i = task + 1; i <= numTasks; i += i & -i) {
+            time[loc][i] += t;
+        }
+    } // insert
+
+    /**
+     * This method removes a task from the location it is placed at.
+     *
+     * @param loc  Location
+     * @param task Task placed at the location
+     */
+    private void remove(int loc, int task) {
+        double t = model.getTime(loc, task);
+        for (int i = task + 1; i <= numTasks; i += i & -i) {
+            time[loc][i] -= t;
+        }
+        add(spare[loc], added[loc], 1, 0, leaves - 1, task + 1, numTasks - 1, t);
+        set(spare[loc], added[loc], 1, 0, leaves - 1, task, Double.POSITIVE_INFINITY);
+    } // remove
+
+    /**
+     * @param loc  Location
+     * @param task Task
+     * @return Total time of the tasks at the location before the task
+     */
+    private double before(int loc, int task) {
+        double sum = 0.0;
+        for (int i = task; i > 0; i -= i & -i) {
+            sum += time[loc][i];
+        }
+        return sum;
+    } // before
+
+    /**
+     * @return Least time to spare of the tasks from from to to, below the given node; infinite if there are none
+     */
+    private static double least(double[] spare, double[] added, int node, int lo, int hi, int from, int to) {
+        if (to < lo || hi < from) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (from <= lo && hi <= to) {
+            return spare[node];
+        }
+        int mid = (lo + hi) >>> 1;
+        return added[node] + Math.min(least(spare, added, 2 * node, lo, mid, from, to),
+                least(spare, added, 2 * node + 1, mid + 1, hi, from, to));
+    } // least
+
+    /**
+     * This method adds time to spare to every task from from to to, below the given node.
+     */
+    private static void add(double[] spare, double[] added, int node, int lo, int hi, int from, int to, double t) {
+        if (to < lo || hi < from) {
+            return;
+        }
+        if (from <= lo && hi <= to) {
+            spare[node] += t;
+            added[node] += t;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        add(spare, added, 2 * node, lo, mid, from, to, t);
+        add(spare, added, 2 * node + 1, mid + 1, hi, from, to, t);
+        spare[node] = added[node] + Math.min(spare[2 * node], spare[2 * node + 1]);
+    } // add
+
+    /**
+     * This method sets the time to spare of the given task, below the given node.
+     */
+    private static void set(double[] spare, double[] added, int node, int lo, int hi, int r, double t) {
+        if (lo == hi) {
+            spare[node] = t;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (r <= mid) {
+            set(spare, added, 2 * node, lo, mid, r, t - added[node]);
+        } else {
+            set(spare, added, 2 * node + 1, mid + 1, hi, r, t - added[node]);
+        }
+        spare[node] = added[node] + Math.min(spare[2 * node], spare[2 * node + 1]);
+    } // set
+
+    /**
+     * This method finds the time each task of a placement completes when every location serves its tasks in task
+     * order, as the simulator does and as this class places them.
+     *
+     * @param locations  Location of each task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @param time       Seconds each task takes at its location
+     * @param deadline   Seconds after release each task should complete by
+     * @param completion Filled with the seconds after release each task completes at
+     * @return Number of tasks which miss their deadlines
+     */
+    static int inTaskOrder(int[] locations, double[] time, double[] deadline, double[] completion) {
+        double[] sum = new double[CostModel.LOCATIONS];
+        int missed = 0;
+        for (int k = 0; k < locations.length; k++) {
+            sum[locations[k]] += time[k];
+            completion[k] = sum[locations[k]];
+            missed += completion[k] > deadline[k] ? 1 : 0;
+        }
+        return missed;
+    } // inTaskOrder
+
+    /**
+     * @param completion Seconds after release each task completes at
+     * @param deadline   Seconds after release each task should complete by
+     * @param weight     Importance of meeting the deadline of each task
+     * @return Total weight of the tasks which miss their deadlines
+     */
+    static double missedWeight(double[] completion, double[] deadline, double[] weight) {
+        double missed = 0.0;
+        for (int k = 0; k < completion.length; k++) {
+            if (completion[k] > deadline[k]) {
+                missed += weight[k];
+            }
+        }
+        return missed;
+    } // missedWeight
+}
@@ -0,0 +1,184 @@
+import java.util.Arrays;
+
+/**
+ * This class finds a placement of low cost, as defined within the paper, by dynamic programming over the time delay
+ * of each location rather than by searching the placements.  The energy of a placement is a sum over the tasks and
+ * the tasks only interact through the makespan, the largest total time delay of any location.  So if the delay of
+ * each location is measured in whole cells of a grid, the least energy of the tasks placed so far for every
+ * combination of cells can be built up one task at a time, and the cost of every combination read off at the end.
+ * The work grows with the number of tasks times the cells of the grid rather than as 3^n.
+ * <p>
+ * Every placement better than a known placement has a makespan no more than the cost of the known placement less the
+ * least energy of the tasks, divided by rho, the horizon; the grid has grid cells across it.  A task's time is rounded
+ * up to whole cells, so the energies found are exact and the cells of a location are never less than its delay.  The
+ * cells of a location exceed its delay by less than a cell per task, so the best placement fits within the grid
+ * widened by a cell per task, and its combination of cells is reached with no more energy and a makespan less than
+ * rho times the cell more per task.  The placement of every combination reached is rebuilt and its cost calculated
+ * exactly, and the best is returned, so it costs at most
+ *     bound = rho * (horizon / grid) * min(n, grid)
+ * more than the best placement.  The grid is made just fine enough for the bound to be at most epsilon times the least
+ * energy of the tasks, and so at most epsilon times the cost of the best placement, unless the locations kept to
+ * rebuild the placements, n times the combinations of cells, would then exceed maxChoices.  The grid is then as fine
+ * as they allow.  Once there are as many tasks as cells the bound is the horizon times rho, which the known placement
+ * is within on its own, so the grid is only widened for fewer tasks.  With the default budget this is so from a few
+ * tens of tasks on, so for 100 tasks or more the result is only guaranteed to be no worse than the known placement,
+ * which is found by branch-and-bound limited to its starting placement; getErrorBound gives the bound of each search.
+ * <p>
+ * Only two arrays of energies are kept, for the tasks placed so far and for one more, plus a location per task and
+ * combination of cells to rebuild the placements.  Locations which are not allowed take no cells, so LC 100 needs
+ * a grid of two dimensions rather than three.
+ */
+class DynamicProgram {
+
+    private CostModel model;            // Energy and time of each task at each location
+    private int numTasks;               // Number of tasks to place
+    private double rho;                 // Weight of the delay within the cost
+    private double epsilon;             // Most the placement found should cost more, relative to the least energy
+    private long maxChoices;            // Most locations kept to rebuild the placements
+    private int grid;                   // Cells of the grid along the delay of each allowed location
+    private double cellTime;            // Seconds; time delay of a cell of the grid
+    private double bestCost;            // Cost of the placement found
+    private double errorBound;          // Most the placement found may cost more than the best placement
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model.
+     *
+     * @param model      Cost model of the tasks to be placed
+     * @param epsilon    Most the placement found should cost more than the best, relative to the least energy
+     * @param maxChoices Most locations kept to rebuild the placements, a byte each; limits the grid
+     */
+    DynamicProgram(CostModel model, double epsilon, long maxChoices) {
+        this.model = model;
+        this.epsilon = epsilon;
+        this.maxChoices = maxChoices;
+        numTasks = model.size();
+        rho = model.getRho();
+    } // Constructor
+
+    /**
+     * This method finds a placement of low cost where each task is processed at one of the allowed locations.
+     *
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Location of each task
+     */
+    int[] solve(int[] allowed) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        BranchAndBound known = new BranchAndBound(model);
+        known.setNodeLimit(0);
+        int[] best = known.solve(allowed);
+        bestCost = model.cost(best);
+        errorBound = 0.0;
+        double leastEnergy = 0.0;
+        for (int k = 0; k < numTasks; k++) {
+            double e = Double.MAX_VALUE;
+            for (int loc : allowed) {
+                e = Math.min(e, model.getEnergy(loc, k));
+            }
+            leastEnergy += e;
+        }
+        double horizon = (bestCost - leastEnergy) / rho; // Seconds; makespan of any better placement, at most
+        if (!(horizon > 0) || Double.isInfinite(horizon)) { // The known placement is the best
+            if (Metrics.ENABLED) {
+                Metrics.record(Metrics.DP_SEARCH, System.nanoTime() - start);
+            }
+            return best;
+        }
+        int most = (int) Math.pow((double) maxChoices / numTasks, 1.0 / allowed.length) - 1; // Cells within budget
+        double wanted = Math.ceil(numTasks * rho * horizon / (epsilon * leastEnergy)); // Cells for epsilon
+        grid = (int) Math.max(1, Math.min(wanted, most > 2 * numTasks ? most - numTasks : Math.min(most, numTasks)));
+        cellTime = horizon / grid;
+        int limit = numTasks < grid ? grid + numTasks : grid; // Cells of a location which may hold the best placement
+        errorBound = rho * cellTime * Math.min(numTasks, grid);
+
+        // Shape of the grid; the cells of location loc are counted by stride[loc]
+        int[] size = new int[CostModel.LOCATIONS];
+        int[] stride = new int[CostModel.LOCATIONS];
+        Arrays.fill(size, 1);
+        for (int loc : allowed) {
+            size[loc] = limit + 1;
+        }
+        stride[2] = 1;
+        stride[1] = size[2];
+        stride[0] = size[1] * size[2];
+        int states = size[0] * stride[0];
+
+        // Cells of each task at each location
+        int[][] cells = new int[CostModel.LOCATIONS][numTasks];
+        for (int loc : allowed) {
+            for (int k = 0; k < numTasks; k++) {
+                cells[loc][k] = (int) Math.min(Math.ceil(model.getTime(loc, k) / cellTime), limit + 1);
+            }
+        }
+
+        double[] energy = new double[states];   // Least energy of the tasks placed so far, by cells of each location
+        double[] next = new double[states];     // The same with one more task placed
+        byte[][] choice = new byte[numTasks][states]; // Location of each task on the way to each combination
+        Arrays.fill(energy, Double.MAX_VALUE);
+        energy[0] = 0.0;
+        for (int k = 0; k < numTasks; k++) {
+            Arrays.fill(next, Double.MAX_VALUE);
+            for (int s = 0; s < states; s++) {
+                if (energy[s] == Double.MAX_VALUE) {
+                    continue;
+                }
+                for (int loc : allowed) {
+                    int c = cells[loc][k];
+                    if ((s / stride[loc]) % size[loc] + c > limit) { // Beyond the makespan of a better placement
+                        continue;
+                    }
+                    int t = s + c * stride[loc];
+                    double e = energy[s] + model.getEnergy(loc, k);
+                    if (e < next[t]) {
+                        next[t] = e;
+                        choice[k][t] = (byte) loc;
+                    }
+                }
+            }
+            double[] swap = energy;
+            energy = next;
+            next = swap;
+        }
+
+        // Rebuild the placement of every combination reached and keep the best
+        int[] placement = new int[numTasks];
+        long reached = 0;
+        for (int s = 0; s < states; s++) {
+            if (energy[s] == Double.MAX_VALUE) {
+                continue;
+            }
+            reached++;
+            int t = s;
+            for (int k = numTasks - 1; k >= 0; k--) {
+                placement[k] = choice[k][t];
+                t -= cells[placement[k]][k] * stride[placement[k]];
+            }
+            double cost = model.cost(placement);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = placement.clone();
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.DP_STATES, reached);
+            Metrics.record(Metrics.DP_SEARCH, System.nanoTime() - start);
+        }
+        return best;
+    } // solve
+
+    // Getters
+    double getBestCost() {
+        return bestCost;
+    }
+
+    int getGrid() {
+        return grid;
+    }
+
+    double getCellTime() {
+        return cellTime;
+    }
+
+    double getErrorBound() {
+        return errorBound;
+    }
+}
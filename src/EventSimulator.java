@@ -0,0 +1,465 @@
+import java.util.Arrays;
+
+/**
+ * This class is a discrete-event simulator of tasks travelling through a network of servers, such as the CPUs and
+ * transmission links of the Local User, Access Point and Remote Cloud.  Each server has a rate (cycles or bits per
+ * second) and serves the tasks which are waiting for it either first in, first out or by processor sharing, where
+ * every task present receives an equal share of the rate.  A task arrives at a given time and then passes through a
+ * route of stages, each being an amount of work at a server.  Unlike the cost, as defined within the paper, tasks
+ * contend for the servers, so the simulator gives the time at which each task really completes.
+ * <p>
+ * Events are kept in a binary heap of primitive arrays and tasks in flat primitive arrays, so no objects are created
+ * per task or per event.  Tasks must be added in order of arrival; arrivals are read in order rather than placed
+ * within the heap.  A long stream of tasks may be simulated a part at a time: runUntil simulates up to the arrival of
+ * the next tasks to be added, giving the same result as if they had all been added first, and forget drops tasks
+ * which have completed so memory does not grow with the length of the stream.  Processor sharing servers use virtual
+ * time: the virtual time of a server advances at its rate divided by the number of tasks present, and a task leaves
+ * once the virtual time reaches the virtual time at which it arrived plus its work.
+ */
+class EventSimulator {
+
+    static final int FIFO = 0;                  // Tasks are served one at a time, in order of arrival
+    static final int PROCESSOR_SHARING = 1;     // Tasks present are served at the same time, sharing the rate
+
+    private static final int LEAVE = 0;         // Event; a task leaves a FIFO server
+    private static final int SHARED_LEAVE = 1;  // Event; the next task leaves a processor sharing server
+
+    private int discipline;                     // FIFO or PROCESSOR_SHARING, for every server
+
+    // Servers
+    private int numServers;
+    private double[] rate;                      // Work per second
+    private int[][] waiting;                    // FIFO; tasks waiting, as a circular buffer, or PS; heap of tasks
+    private int[] head;                         // FIFO; position of the first waiting task
+    private int[] count;                        // Number of tasks waiting or in service
+    private double[][] tag;                     // PS; virtual time each task in the heap leaves at
+    private double[] virtual;                   // PS; virtual time of the server
+    private double[] updated;                   // PS; real time the virtual time was last advanced
+    private int[] version;                      // PS; only the event scheduled with the current version is valid
+
+    // Tasks
+    private int numTasks;
+    private int nextArrival;                    // Next task to arrive
+    private int done;                           // Tasks before this have all completed
+    private double forgottenSpan;               // Time the last task forgotten completes
+    private double[] arrival;                   // Time each task arrives
+    private double[] completion;                // Time each task completes
+    private int[] stage;                        // Current stage of each task
+    private int[] lastStage;                    // One past the last stage of each task
+
+    // Stages, for all tasks one after another
+    private int numStages;
+    private int[] stageServer;                  // Server of each stage
+    private double[] stageWork;                 // Work of each stage
+
+    // Event calendar
+    private int numEvents;
+    private double[] eventTime;
+    private long[] eventSeq;                    // Order the events were scheduled in, to break ties in time
+    private int[] eventType;
+    private int[] eventServer;
+    private int[] eventValue;                   // Task leaving a FIFO server or version of a PS server
+    private long nextSeq;
+    private long processed;                     // Number of events processed
+
+    /**
+     * This constructor creates a simulator without servers or tasks.
+     *
+     * @param discipline FIFO or PROCESSOR_SHARING, for every server
+     */
+    EventSimulator(int discipline) {
+        this.discipline = discipline;
+        rate = new double[4];
+        waiting = new int[4][];
+        head = new int[4];
+        count = new int[4];
+        tag = new double[4][];
+        virtual = new double[4];
+        updated = new double[4];
+        version = new int[4];
+        arrival = new double[16];
+        completion = new double[16];
+        stage = new int[16];
+        lastStage = new int[16];
+        stageServer = new int[64];
+        stageWork = new double[64];
+        eventTime = new double[64];
+        eventSeq = new long[64];
+        eventType = new int[64];
+        eventServer = new int[64];
+        eventValue = new int[64];
+    } // Constructor
+
+    /**
+     * This method adds a server.
+     *
+     * @param r Rate of the server in work per second
+     * @return Number of the server, for the stages of tasks
+     */
+    int addServer(double r) {
+        if (numServers == rate.length) {
+            int n = numServers * 2;
+            rate = Arrays.copyOf(rate, n);
+            waiting = Arrays.copyOf(waiting, n);
+            head = Arrays.copyOf(head, n);
+            count = Arrays.copyOf(count, n);
+            tag = Arrays.copyOf(tag, n);
+            virtual = Arrays.copyOf(virtual, n);
+            updated = Arrays.copyOf(updated, n);
+            version = Arrays.copyOf(version, n);
+        }
+        rate[numServers] = r;
+        waiting[numServers] = new int[8];
+        if (discipline == PROCESSOR_SHARING) {
+            tag[numServers] = new double[8];
+        }
+        return numServers++;
+    } // addServer
+
+    /**
+     * This method adds a task.  Its stages are then added in order with addStage.
+     *
+     * @param time Time the task arrives
+     * @return Number of the task
+     * @throws CustomException Indicates program error
+     */
+    int addTask(double time) throws CustomException {
+        if (numTasks > 0 && time < arrival[numTasks - 1]) {
+            throw new CustomException("ERROR: Tasks must be added to the simulator in order of arrival");
+        }
+        if (numTasks == arrival.length) {
+            int n = numTasks * 2;
+            arrival = Arrays.copyOf(arrival, n);
+            completion = Arrays.copyOf(completion, n);
+            stage = Arrays.copyOf(stage, n);
+            lastStage = Arrays.copyOf(lastStage, n);
+        }
+        arrival[numTasks] = time;
+        stage[numTasks] = numStages;
+        lastStage[numTasks] = numStages;
+        return numTasks++;
+    } // addTask
+
+    /**
+     * This method adds a stage to the route of the last task added.
+     *
+     * @param server Server which does the work
+     * @param work   Cycles or bits of work
+     */
+    void addStage(int server, double work) {
+        if (numStages == stageServer.length) {
+            stageServer = Arrays.copyOf(stageServer, numStages * 2);
+            stageWork = Arrays.copyOf(stageWork, numStages * 2);
+        }
+        stageServer[numStages] = server;
+        stageWork[numStages] = work;
+        numStages++;
+        lastStage[numTasks - 1] = numStages;
+    } // addStage
+
+    /**
+     * This method runs the simulation until every task has completed.
+     */
+    void run() {
+        runUntil(Double.POSITIVE_INFINITY);
+    } // run
+
+    /**
+     * This method runs the simulation up to, but not including, the given time.  Tasks arriving at or after the time
+     * may then be added and the simulation continued.
+     *
+     * @param time Time to run to; no task added after may arrive before it
+     */
+    void runUntil(double time) {
+        double now;
+        while (nextArrival < numTasks && arrival[nextArrival] < time || numEvents > 0 && eventTime[0] < time) {
+            if (nextArrival < numTasks && (numEvents == 0 || arrival[nextArrival] <= eventTime[0])) {
+                now = arrival[nextArrival];
+                advance(nextArrival++, now);
+            } else {
+                now = eventTime[0];
+                int type = eventType[0];
+                int server = eventServer[0];
+                int value = eventValue[0];
+                pop();
+                if (type == LEAVE) {
+                    leaveFifo(server, value, now);
+                } else if (value == version[server]) { // Otherwise replaced by a later event
+                    leaveShared(server, now);
+                }
+            }
+            processed++;
+        }
+    } // runUntil
+
+    /**
+     * @return Number of tasks, from the first, which have all completed
+     */
+    int getDone() {
+        while (done < nextArrival && stage[done] == lastStage[done]) {
+            done++;
+        }
+        return done;
+    } // getDone
+
+    /**
+     * This method forgets the first tasks, which must have completed, so their memory can be used again.  The tasks
+     * left are numbered again from 0, in the same order.
+     *
+     * @param n Number of tasks to forget; at most getDone()
+     */
+    void forget(int n) {
+        if (n <= 0) {
+            return;
+        }
+        for (int k = 0; k < n; k++) {
+            forgottenSpan = Math.max(forgottenSpan, completion[k]);
+        }
+        int stages = lastStage[n - 1]; // Stages of the tasks forgotten, which come before every other
+        int left = numTasks - n;
+        System.arraycopy(arrival, n, arrival, 0, left);
+        System.arraycopy(completion, n, completion, 0, left);
+        System.arraycopy(stage, n, stage, 0, left);
+        System.arraycopy(lastStage, n, lastStage, 0, left);
+        for (int k = 0; k < left; k++) {
+            stage[k] -= stages;
+            lastStage[k] -= stages;
+        }
+        System.arraycopy(stageServer, stages, stageServer, 0, numStages - stages);
+        System.arraycopy(stageWork, stages, stageWork, 0, numStages - stages);
+        numStages -= stages;
+        for (int server = 0; server < numServers; server++) { // Tasks waiting or in service have not completed
+            for (int i = 0; i < count[server]; i++) {
+                int at = discipline == FIFO ? (head[server] + i) % waiting[server].length : i;
+                waiting[server][at] -= n;
+            }
+        }
+        for (int e = 0; e < numEvents; e++) {
+            if (eventType[e] == LEAVE) {
+                eventValue[e] -= n;
+            }
+        }
+        numTasks = left;
+        nextArrival -= n;
+        done -= n;
+    } // forget
+
+    /**
+     * This method sends a task on to its next stage, or completes it if it has none left.
+     *
+     * @param task Task to move
+     * @param now  Current time
+     */
+    private void advance(int task, double now) {
+        if (stage[task] == lastStage[task]) {
+            completion[task] = now;
+            return;
+        }
+        int server = stageServer[stage[task]];
+        if (discipline == FIFO) {
+            if (count[server] == waiting[server].length) { // Unroll the circular buffer into a larger one
+                int[] larger = new int[count[server] * 2];
+                for (int i = 0; i < count[server]; i++) {
+                    larger[i] = waiting[server][(head[server] + i) % waiting[server].length];
+                }
+                waiting[server] = larger;
+                head[server] = 0;
+            }
+            waiting[server][(head[server] + count[server]) % waiting[server].length] = task;
+            if (count[server]++ == 0) { // Server was idle, so start immediately
+                schedule(now + stageWork[stage[task]] / rate[server], LEAVE, server, task);
+            }
+        } else {
+            share(server, now);
+            if (count[server] == waiting[server].length) {
+                waiting[server] = Arrays.copyOf(waiting[server], count[server] * 2);
+                tag[server] = Arrays.copyOf(tag[server], count[server] * 2);
+            }
+            // Sift the task up the heap of the server by the virtual time it leaves at
+            double t = virtual[server] + stageWork[stage[task]];
+            int i = count[server]++;
+            while (i > 0 && tag[server][(i - 1) / 2] > t) {
+                tag[server][i] = tag[server][(i - 1) / 2];
+                waiting[server][i] = waiting[server][(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            tag[server][i] = t;
+            waiting[server][i] = task;
+            reschedule(server, now);
+        }
+    } // advance
+
+    /**
+     * This method completes the current stage of the task being served by a FIFO server and starts the next task.
+     *
+     * @param server Server the task leaves
+     * @param task   Task leaving
+     * @param now    Current time
+     */
+    private void leaveFifo(int server, int task, double now) {
+        head[server] = (head[server] + 1) % waiting[server].length;
+        if (--count[server] > 0) {
+            int next = waiting[server][head[server]];
+            schedule(now + stageWork[stage[next]] / rate[server], LEAVE, server, next);
+        }
+        stage[task]++;
+        advance(task, now);
+    } // leaveFifo
+
+    /**
+     * This method completes the current stage of the task leaving a processor sharing server next.
+     *
+     * @param server Server the task leaves
+     * @param now    Current time
+     */
+    private void leaveShared(int server, double now) {
+        int[] heap = waiting[server];
+        double[] tags = tag[server];
+        int task = heap[0];
+        share(server, now);
+        virtual[server] = tags[0]; // Exact, rather than as accumulated
+        // Sift the last task down from the top of the heap
+        int n = --count[server];
+        int moved = heap[n];
+        double t = tags[n];
+        int i = 0;
+        while (2 * i + 1 < n) {
+            int c = 2 * i + 1;
+            if (c + 1 < n && tags[c + 1] < tags[c]) c++;
+            if (tags[c] >= t) break;
+            heap[i] = heap[c];
+            tags[i] = tags[c];
+            i = c;
+        }
+        heap[i] = moved;
+        tags[i] = t;
+        reschedule(server, now);
+        stage[task]++;
+        advance(task, now);
+    } // leaveShared
+
+    /**
+     * This method advances the virtual time of a processor sharing server to the current time.
+     *
+     * @param server Processor sharing server
+     * @param now    Current time
+     */
+    private void share(int server, double now) {
+        if (count[server] > 0) {
+            virtual[server] += (now - updated[server]) * rate[server] / count[server];
+        }
+        updated[server] = now;
+    } // share
+
+    /**
+     * This method schedules the next task to leave a processor sharing server, replacing any earlier event.
+     *
+     * @param server Processor sharing server
+     * @param now    Current time
+     */
+    private void reschedule(int server, double now) {
+        version[server]++;
+        if (count[server] > 0) {
+            double left = Math.max(0.0, tag[server][0] - virtual[server]);
+            schedule(now + left * count[server] / rate[server], SHARED_LEAVE, server, version[server]);
+        }
+    } // reschedule
+
+    /**
+     * This method adds an event to the calendar.
+     *
+     * @param time   Time of the event
+     * @param type   LEAVE or SHARED_LEAVE
+     * @param server Server of the event
+     * @param value  Task or version of the event
+     */
+    private void schedule(double time, int type, int server, int value) {
+        if (numEvents == eventTime.length) {
+            int n = numEvents * 2;
+            eventTime = Arrays.copyOf(eventTime, n);
+            eventSeq = Arrays.copyOf(eventSeq, n);
+            eventType = Arrays.copyOf(eventType, n);
+            eventServer = Arrays.copyOf(eventServer, n);
+            eventValue = Arrays.copyOf(eventValue, n);
+        }
+        long seq = nextSeq++;
+        int i = numEvents++;
+        while (i > 0 && before(time, seq, (i - 1) / 2)) {
+            copyEvent((i - 1) / 2, i);
+            i = (i - 1) / 2;
+        }
+        eventTime[i] = time;
+        eventSeq[i] = seq;
+        eventType[i] = type;
+        eventServer[i] = server;
+        eventValue[i] = value;
+    } // schedule
+
+    /**
+     * This method removes the earliest event from the calendar.
+     */
+    private void pop() {
+        int n = --numEvents;
+        double time = eventTime[n];
+        long seq = eventSeq[n];
+        int type = eventType[n];
+        int server = eventServer[n];
+        int value = eventValue[n];
+        int i = 0;
+        while (2 * i + 1 < n) {
+            int c = 2 * i + 1;
+            if (c + 1 < n && !before(eventTime[c], eventSeq[c], c + 1)) c++;
+            if (before(time, seq, c)) break;
+            copyEvent(c, i);
+            i = c;
+        }
+        eventTime[i] = time;
+        eventSeq[i] = seq;
+        eventType[i] = type;
+        eventServer[i] = server;
+        eventValue[i] = value;
+    } // pop
+
+    /**
+     * @return True if an event at the given time and order comes before event i of the heap
+     */
+    private boolean before(double time, long seq, int i) {
+        return time < eventTime[i] || (time == eventTime[i] && seq < eventSeq[i]);
+    } // before
+
+    private void copyEvent(int from, int to) {
+        eventTime[to] = eventTime[from];
+        eventSeq[to] = eventSeq[from];
+        eventType[to] = eventType[from];
+        eventServer[to] = eventServer[from];
+        eventValue[to] = eventValue[from];
+    } // copyEvent
+
+    // Getters
+    int getNumTasks() {
+        return numTasks;
+    }
+
+    long getProcessed() {
+        return processed;
+    }
+
+    double getArrival(int task) {
+        return arrival[task];
+    }
+
+    double getCompletion(int task) {
+        return completion[task];
+    }
+
+    /**
+     * @return time the last task completes, including those forgotten
+     */
+    double getMakespan() {
+        double span = forgottenSpan;
+        for (int k = 0; k < numTasks; k++) {
+            span = Math.max(span, completion[k]);
+        }
+        return span;
+    } // getMakespan
+}
@@ -0,0 +1,145 @@
+import java.util.Arrays;
+
+import static java.lang.Math.max;
+
+/**
+ * This class performs an exhaustive search over every placement of the tasks within a cost model.  The placements are
+ * visited in reflected Gray code order, so consecutive placements differ in the location of a single task and the
+ * total energy and per-location delays can be updated by that task's difference alone rather than being summed over
+ * all the tasks again.  Works for any number of tasks and any subset of the locations (e.g. LC 100 only uses Local
+ * and Remote Cloud).
+ */
+class GrayCodeSearch {
+
+    private static final int RESYNC_INTERVAL = 1 << 12; // Steps between recomputing the sums to limit rounding drift
+    private static final double NEAR = 1e-9;            // Relative; costs this close to the best are compared exactly
+
+    private CostModel model;            // Energy and time of each task at each location
+    private int numTasks;               // Number of tasks to place
+    private double[][] energy;          // Jules; energy[location][task]
+    private double[][] time;            // Seconds; time[location][task]
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model.
+     *
+     * @param model Cost model of the tasks to be placed
+     */
+    GrayCodeSearch(CostModel model) {
+        this.model = model;
+        numTasks = model.size();
+        energy = new double[CostModel.LOCATIONS][];
+        time = new double[CostModel.LOCATIONS][];
+        for (int loc = 0; loc < CostModel.LOCATIONS; loc++) {
+            energy[loc] = model.energyAt(loc);
+            time[loc] = model.timeAt(loc);
+        }
+    } // Constructor
+
+    /**
+     * This method finds the placement of minimum cost where each task is processed at one of the allowed locations.
+     *
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Best location of each task
+     */
+    int[] search(int[] allowed) {
+        return search(allowed, new int[0]);
+    } // search
+
+    /**
+     * This method finds the placement of minimum cost where the first tasks are kept at the given locations and each
+     * of the remaining tasks is processed at one of the allowed locations.  Of placements with equal cost, the one
+     * which comes first in lexicographic order is returned, as with the nested loop searches.  A placement costing
+     * within NEAR of the best is compared by its cost from CostModel.cost rather than by the running sums, so the
+     * placement returned does not depend on how the sums have drifted, such as by where a search starts.  Calls may be
+     * made concurrently as all search state is private to the call.
+     *
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @param prefix  Locations of the first prefix.length tasks
+     * @return Best location of each task
+     */
+    int[] search(int[] allowed, int[] prefix) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int fixed = prefix.length;              // Number of tasks which do not move
+        int radix = allowed.length;             // Number of values each digit takes
+        int[] digit = new int[numTasks];        // Index into allowed for each task
+        int[] dir = new int[numTasks];          // Direction each digit is currently moving in (+1 or -1)
+        int[] locations = new int[numTasks];    // Current placement
+        int[] best = new int[numTasks];         // Best placement found
+        double[] delay = new double[CostModel.LOCATIONS]; // Total time delay of each location
+        double tE;                              // Total energy
+        double cost;
+        double bestCost;
+        double bestExact;                       // Cost of the best placement from CostModel.cost
+        int steps = 0;                          // Steps since the sums were last recomputed
+        long visited = 1;                       // Placements evaluated
+        int j;                                  // Digit which changes
+        int from;
+        int to;
+
+        for (int k = 0; k < numTasks; k++) {
+            dir[k] = 1;
+            locations[k] = k < fixed ? prefix[k] : allowed[0];
+        }
+        tE = sum(locations, delay);
+        bestCost = tE + model.getRho() * max(delay[0], max(delay[1], delay[2]));
+        bestExact = model.cost(locations);
+        System.arraycopy(locations, 0, best, 0, numTasks);
+        while (true) {
+            // Find the lowest digit which can still move in its direction, reflecting those which cannot
+            j = fixed;
+            while (j < numTasks && (digit[j] + dir[j] < 0 || digit[j] + dir[j] >= radix)) {
+                dir[j] = -dir[j];
+                j++;
+            }
+            if (j == numTasks) { // Every placement has been visited
+                break;
+            }
+            digit[j] += dir[j];
+            visited++;
+            from = locations[j];
+            to = allowed[digit[j]];
+            locations[j] = to;
+            if (++steps == RESYNC_INTERVAL) {
+                steps = 0;
+                tE = sum(locations, delay);
+            } else { // Only task j has moved
+                tE += energy[to][j] - energy[from][j];
+                delay[from] -= time[from][j];
+                delay[to] += time[to][j];
+            }
+            cost = tE + model.getRho() * max(delay[0], max(delay[1], delay[2]));
+            if (cost <= bestCost + Math.abs(bestCost) * NEAR) {
+                double exact = model.cost(locations);
+                if (exact < bestExact || (exact == bestExact && Arrays.compare(locations, best) < 0)) {
+                    bestCost = cost;
+                    bestExact = exact;
+                    System.arraycopy(locations, 0, best, 0, numTasks);
+                }
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.GRAY_PLACEMENTS, visited);
+            Metrics.record(Metrics.GRAY_SEARCH, System.nanoTime() - start);
+        }
+        return best;
+    } // search
+
+    /**
+     * This method sums the energy and per-location delays of a placement from scratch.
+     *
+     * @param locations Placement of the tasks
+     * @param delay     Filled with the total time delay of each location
+     * @return Total energy
+     */
+    private double sum(int[] locations, double[] delay) {
+        double tE = 0.0;
+        delay[0] = 0.0;
+        delay[1] = 0.0;
+        delay[2] = 0.0;
+        for (int k = 0; k < numTasks; k++) {
+            tE += energy[locations[k]][k];
+            delay[locations[k]] += time[locations[k]][k];
+        }
+        return tE;
+    } // sum
+}
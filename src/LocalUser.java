@@ -14,6 +14,10 @@ class LocalUser {
     private double LOCAL_TRANS_RATE;
     private ArrayList<Task> tasks;
     
+    private EventSimulator simulator;           // Simulator the servers below belong to
+    private int cpuServer;                      // Local CPU within the simulator
+    private int linkServer;                     // Transmission to and from the Access Point within the simulator
+    
     /**
      * This constructor initializes a new LocalUser with the specified values.
      *
@@ -43,16 +47,109 @@ class LocalUser {
         if (tasks == null) {
             throw new CustomException("ERROR: Local User attempted to resolve a  task list");
         }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         for (Task t : tasks) {              // For each task...
-            if (t.getCompL()) {             // If task can be computed on Local User...
-                t.processTask(LOCAL_COMP_ENERGY_RATE, LOCAL_CPU_RATE, 0); // Compute on Local User
-            } else {
-                t.sendToAP(LOCAL_TRANS_ENERGY_RATE, LOCAL_TRANS_RATE, LOCAL_TRANS_RATE);
-                accessPoint.resolveTask(t); // Otherwise, pass task to Access Point
-            }
+            resolveTask(t);
+        }
+        if (Metrics.ENABLED) {
+            Metrics.record(Metrics.RESOLVE_TASKS, System.nanoTime() - start);
         }
     } // resolveTasks
     
+    /**
+     * Resolve a single task. Try to compute the task locally, otherwise, send it to the access point.
+     *
+     * @param t Task to be resolved
+     * @throws CustomException Indicates Program Error
+     */
+    void resolveTask(Task t) throws CustomException {
+        if (t.getCompL()) {             // If task can be computed on Local User...
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.COMPUTED_L);
+            }
+            t.processTask(LOCAL_COMP_ENERGY_RATE, LOCAL_CPU_RATE, 0); // Compute on Local User
+        } else {
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.SENT_TO_AP);
+            }
+            t.sendToAP(LOCAL_TRANS_ENERGY_RATE, LOCAL_TRANS_RATE, LOCAL_TRANS_RATE);
+            accessPoint.resolveTask(t); // Otherwise, pass task to Access Point
+        }
+    } // resolveTask
+    
+    /**
+     * Resolve a whole batch of tasks. Tasks placed on the Local User are computed locally, every other task is sent
+     * to the access point, which resolves the rest of the batch.
+     *
+     * @param batch Tasks to be resolved
+     */
+    void resolveBatch(TaskBatch batch) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        double[] in = batch.inputData();
+        double[] out = batch.outputData();
+        double[] cpb = batch.cyclesPerBit();
+        byte[] loc = batch.location();
+        double[] energy = batch.energy();
+        double[] time = batch.time();
+        for (int k = 0; k < batch.size(); k++) {
+            if (loc[k] == 0) { // Compute on Local User
+                energy[k] = in[k] * cpb[k] * LOCAL_COMP_ENERGY_RATE;
+                time[k] = in[k] * cpb[k] / LOCAL_CPU_RATE;
+            } else { // Send to Access Point
+                energy[k] = LOCAL_TRANS_ENERGY_RATE * in[k] + LOCAL_TRANS_ENERGY_RATE * out[k];
+                time[k] = in[k] / LOCAL_TRANS_RATE + out[k] / LOCAL_TRANS_RATE;
+            }
+        }
+        accessPoint.resolveBatch(batch);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.BATCH_TASKS, batch.size());
+            Metrics.record(Metrics.RESOLVE_BATCH, System.nanoTime() - start);
+        }
+    } // resolveBatch
+    
+    /**
+     * Add the servers of the Local User, its CPU and its link to the access point, and of the architecture behind it
+     * to an event simulator. Nothing is added if they already belong to the simulator.
+     *
+     * @param sim Simulator to add the servers to
+     */
+    void attach(EventSimulator sim) {
+        if (simulator == sim) {
+            return;
+        }
+        simulator = sim;
+        cpuServer = sim.addServer(LOCAL_CPU_RATE);
+        linkServer = sim.addServer(LOCAL_TRANS_RATE);
+        accessPoint.attach(sim);
+    } // attach
+    
+    /**
+     * Submit a task to an event simulator. The task is routed through the same servers it would be resolved by:
+     * the local CPU, or the link to the access point, which routes it further, and the link back with the output.
+     *
+     * @param sim      Simulator to submit the task to
+     * @param time     Time the task arrives at the Local User
+     * @param in       Input data size
+     * @param out      Output data size
+     * @param cpb      Cycles per bit
+     * @param location 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Number of the task within the simulator
+     * @throws CustomException Indicates Program Error
+     */
+    int submit(EventSimulator sim, double time, double in, double out, double cpb, int location)
+            throws CustomException {
+        attach(sim);
+        int task = sim.addTask(time);
+        if (location == 0) {            // Compute on Local User
+            sim.addStage(cpuServer, in * cpb);
+        } else {                        // Send to the Access Point and receive the output back
+            sim.addStage(linkServer, in);
+            accessPoint.route(sim, in, out, cpb, location);
+            sim.addStage(linkServer, out);
+        }
+        return task;
+    } // submit
+    
     // Setter
     void setTasks(ArrayList<Task> t) {
         tasks = t;
@@ -1,14 +1,22 @@
-import java.io.File;
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import static java.lang.Math.max;
-import static java.lang.Math.pow;
 
 /**
  * COSC 5P06 Project.
@@ -27,6 +35,17 @@ import static java.lang.Math.pow;
  * 2 - Execute "javac *.java" in the terminal
  * 3 - Execute "java Main" in the terminal
  * 4 - Follow command line instructions
+ * <p>
+ * To run without the menu, as from a script, give the options of RunOptions on the command line or in a config
+ * file, e.g. "java Main mode=collect runs=1000 seed=42 format=csv output=results ALPHA_BASE=3" or "java Main
+ * config=run.properties method=6".  The menu is then not shown and nothing is read from the terminal, only the work
+ * of the chosen mode is done, and the exit status is 1 if the run fails.  For many short runs the start up of the JVM
+ * dominates; it can be reduced by compiling string concatenation inline rather than bootstrapping it at run time, and
+ * by archiving the loaded classes with AppCDS, which needs the classes in a jar:
+ * 1 - Execute "javac -XDstringConcat=inline *.java" then "jar cfe mcc.jar Main *.class" in the terminal
+ * 2 - Execute "java -XX:ArchiveClassesAtExit=mcc.jsa -jar mcc.jar method=6" once to create the archive
+ * 3 - Execute "java -XX:SharedArchiveFile=mcc.jsa -XX:TieredStopAtLevel=1 -jar mcc.jar ..." for each run
+ * -XX:TieredStopAtLevel=1 only compiles with the quick compiler, which suits runs too short to warm up.
  */
 
 class Main {
@@ -34,165 +53,400 @@ class Main {
     // Program Execution Constants
     private static final boolean COLLECTING_DATA = false;   // True when collecting data for report
 
-    // Task Constants
-    private static final double MAX_INPUT_SIZE = 30 * 8 * pow(10, 6);   // Bits; 30MB
-    private static final double MIN_INPUT_SIZE = 10 * 8 * pow(10, 6);   // Bits; 10MB
-    private static final double MAX_OUTPUT_SIZE = 3 * 8 * pow(10, 6);   // Bits; 3MB
-    private static final double MIN_OUTPUT_SIZE = 1 * 8 * pow(10, 6);   // Bits; 1MB
-    private static final double CYCLES_PER_BIT = 1900.0 / 8.0;          // Cycles per Bit; for task processing
-
-    // Local (L) Constants
-    private static final double LOCAL_CPU_RATE = 500 * pow(10, 6);                  // Cycles per second
-    private static final double LOCAL_TRANS_RATE = 72.2 * pow(10, 6);               // Bits per second
-    private static final double LOCAL_COMP_ENERGY_RATE = 1 / (730 * pow(10, 6));    // Jules per cycle
-    private static final double LOCAL_TRANS_ENERGY_RATE = 1.42 * pow(10, -7);       // Jules per bit (up and down)
-
-    // (Computational) Access Point ((C)AP) Constants
-    private static final double CAP_CPU_RATE = 5 * pow(10, 9);      // Cycles per second
-    private static final double CAP_TRANS_RATE = 15 * pow(10, 6);   // Bits per second
-
-    // Remote Cloud (RC) Constants
-    private static final double RC_CPU_RATE = 10 * pow(10, 9);      // Cycles per second
-
-    // LAC 100 Constants
-    private static final double ALPHA_BASE = 2;
-    private static final double BETA_BASE = 5;
-    private static final double ALPHA = ALPHA_BASE * pow(10, -7);   // Jules per second (default 2)
-    private static final double BETA = BETA_BASE * pow(10, -7);     // Jules per second (default 5)
-    private static final double RHO = 1;                            // Jules per second
+    // The sizes of the tasks, the rates of the Local User, Access Point and Remote Cloud, ALPHA, BETA and RHO are
+    // held by Parameters so that they may be varied.  The constants of the task offloading methods, such as how
+    // LC/LAC 100 search, are held by PolicyRegistry
+
+    // Online Constants
+    private static final int ONLINE_RUNS = 1000;                    // Task sets compared against LAC 100
+    private static final int ONLINE_DECISIONS = 1000000;            // Decisions timed for throughput
+
+    // Dynamic Programming Constants
+    private static final int DP_RUNS = 1000;                        // Task sets compared against every placement
+    private static final int DP_LARGE_TASKS = 100;                  // Tasks of the sets the time is measured on
+    private static final int DP_LARGE_RUNS = 20;                    // Task sets the time is measured on
+
+    // Metaheuristic Constants
+    private static final int META_TASKS = 1000;                     // Tasks placed by the metaheuristics
+
+    // Vector Scoring Constants
+    private static final int VECTOR_RUNS = 1000;                    // Task sets the scorers are compared on
+    private static final int VECTOR_PLACEMENTS = 10007;             // Random placements scored of each set
+
+    // Trace Constants
+    private static final String TRACE_FILE = "Traces/trace.bin";    // Binary trace of tasks replayed
+    private static final String TRACE_CSV = "Traces/trace.csv";     // Imported into TRACE_FILE if that does not exist
+    private static final int TRACE_BATCH = 10;                      // Tasks of the trace placed together
+    private static final char TRACE_METHOD = '6';                   // Key of the method the batches are placed by
+
+    // Pareto Front Constants
+    private static final int PARETO_RUNS = 100;                     // Task sets whose fronts are checked
+    private static final double[] PARETO_RHOS = {0, 0.1, 1, 10, 100}; // Weights of the delay looked up
+    private static final int PARETO_DEADLINES = 5;                  // Deadlines looked up, spread over each front
+    private static final int PARETO_QUERIES = 1000000;              // Lookups of each kind timed
+
+    // Deadline Constants
+    private static final int DEADLINE_CHECK_RUNS = 1000;            // Sets checked against every placement
+    private static final int DEADLINE_RUNS = 100;                   // Task sets placed by each method
+    private static final int DEADLINE_TASKS = 200;                  // Tasks of each set
+    private static final double DEADLINE_PER_TASK = 8;             // Seconds; latest deadline per task of the set
+    private static final double DEADLINE_MIN = 20;                  // Seconds; earliest deadline
+    private static final int DEADLINE_WEIGHTS = 3;                  // Weights are drawn from 1 to this
+    private static final char[] DEADLINE_METHODS = {'1', '2', '3', 'o', 'e'}; // Keys of the methods compared
+
+    // Parameter Sweep Constants
+    private static final String SWEEP_GRID = "ALPHA_BASE=1:50:50,BETA_BASE=1:50:50"; // NAME=from:to:steps,...
+    private static final int SWEEP_RUNS = 100;                      // Times to repeat each test at each point
+    private static final char[] SWEEP_METHODS = {'1', '2', '3', '4', '5', '6', '7'}; // Keys of the methods swept
+
+    // Statistics Check Constants
+    private static final int STATS_RUNS = 200;                      // Replications of every method on the same tasks
+    private static final int STATS_THREADS = 4;                     // Threads keeping statistics of their own
+
+    // Queueing Constants
+    private static final double ARRIVAL_RATE = 0.5;                 // Tasks per second arriving at the Local User
+    private static final int QUEUE_DISCIPLINE = EventSimulator.FIFO; // Or EventSimulator.PROCESSOR_SHARING
+
+    // Multi-User Constants
+    private static final int NUMBER_OF_USERS = 10000;               // Local users sharing the access points
+    private static final int NUMBER_OF_ACCESS_POINTS = 50;          // Access points sharing the remote cloud
+    private static final int TASKS_PER_USER = 100;                  // Number of tasks of each local user
+    private static final double USER_ARRIVAL_RATE = 0.0001;         // Tasks per second arriving at each user
+    private static final long USER_SEARCH_LIMIT = 200;              // Partial placements searched per user
+
+    // Sampling of the tasks of data collection
+    static final int INDEPENDENT = 0;   // Each run of each method has its own tasks
+    static final int COMMON = 1;        // Every method runs on the same tasks in each replication
+    static final int ANTITHETIC = 2;    // As COMMON, with every second replication antithetic to the one before
 
     // Other Constants
-    private static final int NUMBER_OF_TASKS = 10;                  // Number of tasks to simulate (keep at 10!)
-    private static final int NUMBER_OF_UNIQUE_METHODS = 7;          // Number of task offloading methods
+    private static final int NUMBER_OF_TASKS = 10;                  // Number of tasks to simulate (10 for loops)
     private static final int NUMBER_OF_RUNS = 100;                  // Times to repeat each test for data collection
     private static final long SEED = 587469L;                       // Random number seed
+    private static final int NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors(); // For data collection
+    private static final int RUNS_IN_FLIGHT = 16 * NUMBER_OF_THREADS; // Runs started but not yet written, at most
+    private static final int OUTPUT_FORMAT = ResultWriter.TEXT;     // Or ResultWriter.BINARY, CSV or NONE
+    private static final double STOP_PRECISION = 0;                 // Relative CI half-width ending runs; 0 for all
+    private static final int SAMPLING = INDEPENDENT;                // Or COMMON or ANTITHETIC
+    private static final char COMPARE_METHOD = '6';                 // Key of the method the others are compared to
+    private static final String OUTPUT_DIRECTORY = "./Output";      // Results of data collection and sweeps
 
     // The Mobile Cloud Computing Architecture
     private ArrayList<Task> tasks;                                  // Holds the tasks to be executed
+    private Parameters params;                                      // Constants of the architecture and tasks
 
     // Other Variables
-    private Random rand = new Random(SEED);                         // For random number generation
+    private SplittableRandom taskRand;                              // For creating the tasks
+    private SplittableRandom rand;                                  // For the methods' and arrivals' random choices
+    private boolean antithetic;                                     // Tasks are made from 1 - u of each uniform u
+    private RunOptions options;                                     // Mode, seed and output of this execution
 
-    private Main() throws CustomException {
+    /**
+     * This constructor runs the simulation in the mode chosen from the menu or given by the options.  The architecture
+     * and tasks are only created for the modes which use them.
+     *
+     * @param options Mode, seed and output of this execution
+     * @throws CustomException Indicates program error
+     */
+    private Main(RunOptions options) throws CustomException {
         LocalUser localUser;        // Simulates the local user
-        AccessPoint accessPoint;    // Simulates the access point
-        RemoteCloud remoteCloud;    // Simulates the remote cloud
 
-        remoteCloud = new RemoteCloud(RC_CPU_RATE, BETA);
-        accessPoint = new AccessPoint(remoteCloud, CAP_CPU_RATE, CAP_TRANS_RATE, ALPHA);
-        localUser = new LocalUser(accessPoint, LOCAL_CPU_RATE, LOCAL_COMP_ENERGY_RATE, LOCAL_TRANS_ENERGY_RATE
-                , LOCAL_TRANS_RATE);
-
-        loadTasks(localUser); // Tasks are loaded into localUser
-        if (!COLLECTING_DATA) { // Typical execution for marking
-            switch (promptUser()) {
-                default: // Custom test apparatus (DEFAULT CHOICE)
-                    System.out.println("\n* * * CUSTOM TEST SUITE * * *");
-                    testSuite(localUser);
+        this.options = options;
+        seed(options.getSeed());
+        params = options.getParams();
+        PolicyRegistry.useCache(options.isCaching(), options.getCacheQuantum(), options.getCacheBytes(),
+                options.isCacheWarmStart());
+        if (!options.isCollecting()) { // Typical execution for marking
+            char choice = options.isInteractive() ? promptUser() : options.getMode();
+            OffloadingPolicy policy = PolicyRegistry.byKey(choice);
+            switch (choice) {
+                default:
+                    localUser = loadTopology();
+                    if (policy == null) { // Custom test apparatus (DEFAULT CHOICE)
+                        System.out.println("\n* * * CUSTOM TEST SUITE * * *");
+                        testSuite(localUser);
+                    } else { // A single task offloading method
+                        System.out.println("\n* * * " + policy.name().toUpperCase() + " * * *");
+                        mark(policy, localUser);
+                        simpleTest(localUser);
+                    }
                     break;
-                case '1': // Local User
-                    System.out.println("\n* * * LOCAL USER * * *");
-                    markForL();
+                case 'o': // Online, compared against LAC 100
+                    System.out.println("\n* * * ONLINE * * *");
+                    localUser = loadTopology();
+                    mark(policy, localUser);
                     simpleTest(localUser);
+                    onlineTest();
                     break;
-                case '2': // Access Point
-                    System.out.println("\n* * * ACCESS POINT * * *");
-                    markForAP();
-                    simpleTest(localUser);
+                case 'd': // Dynamic programming against every placement
+                    System.out.println("\n* * * DYNAMIC PROGRAMMING * * *");
+                    dpTest();
                     break;
-                case '3': // Remote Cloud
-                    System.out.println("\n* * * REMOTE CLOUD * * *");
-                    markForRC();
-                    simpleTest(localUser);
+                case 'h': // Metaheuristics on many tasks
+                    System.out.println("\n* * * METAHEURISTICS * * *");
+                    metaheuristicTest();
                     break;
-                case '4': // Random
-                    System.out.println("\n* * * RANDOM * * *");
-                    markForRandom();
-                    simpleTest(localUser);
+                case 'v': // Vector scoring against scalar scoring
+                    System.out.println("\n* * * VECTOR SCORING * * *");
+                    vectorTest();
                     break;
-                case '5': // LC 100
-                    System.out.println("\n* * * LC 100 * * *");
-                    markForLC100(localUser);
-                    simpleTest(localUser);
+                case 't': // Replay a trace of tasks
+                    System.out.println("\n* * * TRACE REPLAY * * *");
+                    traceTest();
                     break;
-                case '6': // LAC 100
-                    System.out.println("\n* * * LAC 100 * * *");
-                    markForLAC100(localUser);
-                    simpleTest(localUser);
+                case 'p': // Pareto front of energy and makespan
+                    System.out.println("\n* * * PARETO FRONT * * *");
+                    paretoTest();
+                    break;
+                case 'l': // Deadlines of the tasks
+                    System.out.println("\n* * * DEADLINES * * *");
+                    deadlineTest();
+                    break;
+                case 's': // Parameter sweep
+                    System.out.println("\n* * * PARAMETER SWEEP * * *");
+                    sweepTest();
+                    break;
+                case 'c': // Statistics merged across threads
+                    System.out.println("\n* * * STATISTICS * * *");
+                    statisticsTest();
                     break;
-                case '7': // RM 100
-                    System.out.println("\n* * * RM 100 * * *");
-                    markForRM100();
+                case 'm': // Many users sharing access points
+                    System.out.println("\n* * * MULTI-USER * * *");
+                    multiUserTest();
+                    break;
+                case '9': // LAC 100 with queueing
+                    System.out.println("\n* * * LAC 100 (QUEUEING) * * *");
+                    localUser = loadTopology();
+                    mark(PolicyRegistry.byKey('6'), localUser);
                     simpleTest(localUser);
+                    queueingTest(localUser);
                     break;
             }
         } else { // Atypical execution for data gathering
             System.out.println("Starting data collection...");
-            outputData(dataCollection(localUser, NUMBER_OF_RUNS));
-            System.out.println("Done. Data located in Output directory.");
+            collectData();
+            System.out.println("Done. Data located in " + options.getOutput() + " directory.");
         }
     } // Constructor
 
+    /**
+     * This constructor creates the state of a single data collection run, its tasks and random number generator,
+     * without running anything.  Each run has its own state so that runs can be made concurrently.
+     *
+     * @param params Constants of the architecture and tasks
+     * @param seed   Random number seed of the run
+     */
+    private Main(Parameters params, long seed) {
+        this(params, seed, false);
+    } // Constructor
+
+    /**
+     * This constructor creates the state of a single data collection run whose tasks may be antithetic.
+     *
+     * @param params     Constants of the architecture and tasks
+     * @param seed       Random number seed of the run
+     * @param antithetic If the tasks are to be antithetic to those made with the same seed otherwise
+     */
+    private Main(Parameters params, long seed, boolean antithetic) {
+        this.params = params;
+        this.antithetic = antithetic;
+        seed(seed);
+    } // Constructor
+
+    /**
+     * This method splits the generators of the tasks and of the methods' random choices from a seed, so the tasks
+     * made from a seed are the same whatever the methods draw, and reusing tasks leaves the methods' draws unchanged.
+     *
+     * @param seed Random number seed
+     */
+    private void seed(long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        taskRand = root.split();
+        rand = root.split();
+    } // seed
+
     /**
      * Creates a new instance of Main which runs the simulation.
      *
      * @param args Command line arguments
      */
     public static void main(String[] args) {
+        RunOptions options = new RunOptions(COLLECTING_DATA, NUMBER_OF_RUNS, SEED, SAMPLING, OUTPUT_FORMAT,
+                STOP_PRECISION, OUTPUT_DIRECTORY, SWEEP_GRID, SWEEP_RUNS, SWEEP_METHODS);
+        boolean failed = false;
+        if (args.length == 1 && (args[0].equals("-h") || args[0].equals("--help") || args[0].equals("help"))) {
+            System.out.println(RunOptions.USAGE);
+            return;
+        }
         try {
-            new Main();
+            if (args.length > 0) {
+                options.parse(args);
+            }
+            new Main(options);
         } catch (CustomException e) { // Catch any custom exceptions to return error message causing exception
             e.print();
             e.printStackTrace();
+            failed = true;
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.report();
+            }
+        }
+        if (failed && !options.isInteractive()) {
+            System.exit(1);
         }
     } // main
 
     /**
-     * This method creates the tasks that are to be processed.  Tasks are comprised of an input and output data size.
-     * Once made, the tasks are loaded into the local user.
+     * This method creates the architecture and loads NUMBER_OF_TASKS new tasks into its local user.
+     *
+     * @return the local user
+     * @throws CustomException Indicates program error
+     */
+    private LocalUser loadTopology() throws CustomException {
+        LocalUser localUser = buildTopology(params);
+        loadTasks(localUser, new TaskBatch(NUMBER_OF_TASKS)); // Tasks are loaded into localUser
+        return localUser;
+    } // loadTopology
+
+    /**
+     * This method creates the Mobile Cloud Computing architecture; a local user whose tasks may be sent to an access
+     * point, which may in turn send them to a remote cloud.
+     *
+     * @param p Constants of the architecture
+     * @return the local user
+     */
+    static LocalUser buildTopology(Parameters p) {
+        RemoteCloud remoteCloud;    // Simulates the remote cloud
+        AccessPoint accessPoint;    // Simulates the access point
+
+        remoteCloud = new RemoteCloud(p.get(Parameters.RC_CPU_RATE), p.getBeta());
+        accessPoint = new AccessPoint(remoteCloud, p.get(Parameters.CAP_CPU_RATE), p.get(Parameters.CAP_TRANS_RATE)
+                , p.getAlpha());
+        return new LocalUser(accessPoint, p.get(Parameters.LOCAL_CPU_RATE), p.get(Parameters.LOCAL_COMP_ENERGY_RATE)
+                , p.get(Parameters.LOCAL_TRANS_ENERGY_RATE), p.get(Parameters.LOCAL_TRANS_RATE));
+    } // buildTopology
+
+    /**
+     * This method runs a simulation of NUMBER_OF_USERS local users spread evenly over NUMBER_OF_ACCESS_POINTS access
+     * points which share one remote cloud.  Each user places its own tasks and the tasks of all users then contend for
+     * the access points and remote cloud.  The aggregate results are printed to the user.  The tasks and the
+     * arrivals each have their own random numbers, split from the seed of this execution.
      *
-     * @param local the local user who will begin with the list of tasks
+     * @throws CustomException Indicates program error
      */
-    private void loadTasks(LocalUser local) {
+    private void multiUserTest() throws CustomException {
+        RemoteCloud remoteCloud = new RemoteCloud(params.get(Parameters.RC_CPU_RATE), params.getBeta());
+        AccessPoint[] accessPoints = new AccessPoint[NUMBER_OF_ACCESS_POINTS];
+        LocalUser[] users = new LocalUser[NUMBER_OF_USERS];
+        int[] accessPointOf = new int[NUMBER_OF_USERS];
+        TaskBatch[] batches = new TaskBatch[NUMBER_OF_USERS];
+        MultiUserSimulation sim;
+        SplittableRandom seeds = new SplittableRandom(options.getSeed());
+        Main set = new Main(params, seeds.nextLong());  // Creates the tasks of every user
+
+        for (int a = 0; a < NUMBER_OF_ACCESS_POINTS; a++) {
+            accessPoints[a] = new AccessPoint(remoteCloud, params.get(Parameters.CAP_CPU_RATE)
+                    , params.get(Parameters.CAP_TRANS_RATE), params.getAlpha());
+        }
+        for (int u = 0; u < NUMBER_OF_USERS; u++) {
+            accessPointOf[u] = u % NUMBER_OF_ACCESS_POINTS;
+            users[u] = new LocalUser(accessPoints[accessPointOf[u]], params.get(Parameters.LOCAL_CPU_RATE)
+                    , params.get(Parameters.LOCAL_COMP_ENERGY_RATE), params.get(Parameters.LOCAL_TRANS_ENERGY_RATE)
+                    , params.get(Parameters.LOCAL_TRANS_RATE));
+            batches[u] = new TaskBatch(TASKS_PER_USER);
+            set.loadBatch(batches[u]);
+        }
+        sim = new MultiUserSimulation(users, accessPointOf, NUMBER_OF_ACCESS_POINTS, batches
+                , params.get(Parameters.RHO));
+        sim.place(USER_SEARCH_LIMIT);
+        sim.run(USER_ARRIVAL_RATE, QUEUE_DISCIPLINE, new SplittableRandom(seeds.nextLong()));
+        sim.report();
+    } // multiUserTest
+
+    /**
+     * This method fills an empty batch with new tasks, each comprised of an input and output data size, and a deadline
+     * if MAX_DEADLINE is finite.
+     *
+     * @param batch Batch to fill to its capacity
+     * @throws CustomException Indicates program error
+     */
+    private void loadBatch(TaskBatch batch) throws CustomException {
         double inRange;     // Range of input size
         double outRange;    // Range of output size
+        double dueRange;    // Range of deadline
         double in;          // Input size
         double out;         // Output size
+        double due;         // Deadline
 
-        inRange = MAX_INPUT_SIZE - MIN_INPUT_SIZE + 1;
-        outRange = MAX_OUTPUT_SIZE - MIN_OUTPUT_SIZE + 1;
-        tasks = new ArrayList<>(NUMBER_OF_TASKS);
+        inRange = params.get(Parameters.MAX_INPUT_SIZE) - params.get(Parameters.MIN_INPUT_SIZE) + 1;
+        outRange = params.get(Parameters.MAX_OUTPUT_SIZE) - params.get(Parameters.MIN_OUTPUT_SIZE) + 1;
+        dueRange = params.get(Parameters.MAX_DEADLINE) - params.get(Parameters.MIN_DEADLINE);
 
-        for (int t = 0; t < NUMBER_OF_TASKS; t++) {
-            in = rand.nextDouble() * inRange + MIN_INPUT_SIZE;
-            out = rand.nextDouble() * outRange + MIN_OUTPUT_SIZE;
-            tasks.add(new Task(in, out, CYCLES_PER_BIT));
+        for (int t = batch.size(); t < batch.capacity(); t++) {
+            in = uniform() * inRange + params.get(Parameters.MIN_INPUT_SIZE);
+            out = uniform() * outRange + params.get(Parameters.MIN_OUTPUT_SIZE);
+            due = Double.isInfinite(dueRange) ? Double.POSITIVE_INFINITY
+                    : uniform() * dueRange + params.get(Parameters.MIN_DEADLINE);
+            batch.add(in, out, params.get(Parameters.CYCLES_PER_BIT), due, 1.0);
+        }
+    } // loadBatch
+
+    /**
+     * @return the next uniform random number from 0 to 1, or 1 less it if the tasks are antithetic
+     */
+    private double uniform() {
+        double u = taskRand.nextDouble();
+        return antithetic ? 1.0 - u : u;
+    } // uniform
+
+    /**
+     * This method creates the tasks that are to be processed.  Tasks are comprised of an input and output data size.
+     * Once made, the tasks are loaded into the local user.  If the given batch is empty it is filled with new tasks,
+     * otherwise the tasks already in it are used again.
+     *
+     * @param local   the local user who will begin with the list of tasks
+     * @param taskSet Batch of the tasks to create
+     * @throws CustomException Indicates program error
+     */
+    private void loadTasks(LocalUser local, TaskBatch taskSet) throws CustomException {
+        fillBatch(taskSet);
+        tasks = new ArrayList<>(taskSet.size());
+        for (int t = 0; t < taskSet.size(); t++) {
+            tasks.add(new Task(taskSet.inputData()[t], taskSet.outputData()[t], taskSet.cyclesPerBit()[t],
+                    taskSet.deadline()[t], taskSet.weight()[t]));
         }
         local.setTasks(tasks);
-    } // setTasks
+    } // loadTasks
+
+    /**
+     * This method fills the batch with new tasks if it is empty, otherwise the tasks already in it are used again.
+     *
+     * @param taskSet Batch of the tasks to create
+     * @throws CustomException Indicates program error
+     */
+    private void fillBatch(TaskBatch taskSet) throws CustomException {
+        if (taskSet.size() == 0) {
+            loadBatch(taskSet);
+        }
+    } // fillBatch
 
     /**
      * This method is for running multiple different task offloading methods consecutively to be able to compare data
-     * against various methods in a single program run.
+     * against various methods in a single program run.  Every registered method is run, in order.
      *
      * @param local the Local User who starts with the tasks
      */
     private void testSuite(LocalUser local) throws CustomException {
-        System.out.println("\n* * * LOCAL USER * * *");
-        markForL();         // Setup offloading method
-        simpleTest(local);  // Test offloading method
-        resetTasks();       // Reset tasks for next test
-        System.out.println("\n* * * ACCESS POINT * * *");
-        markForAP();
-        simpleTest(local);
-        resetTasks();
-        System.out.println("\n* * * REMOTE CLOUD * * *");
-        markForRC();
-        simpleTest(local);
-        resetTasks();
-        System.out.println("\n* * * RANDOM * * *");
-        markForRandom();
-        simpleTest(local);
+        for (int i = 0; i < PolicyRegistry.count(); i++) {
+            OffloadingPolicy policy = PolicyRegistry.get(i);
+            if (i > 0) {
+                resetTasks();   // Reset tasks for next test
+            }
+            System.out.println("\n* * * " + policy.name().toUpperCase() + " * * *");
+            mark(policy, local);    // Setup offloading method
+            simpleTest(local);      // Test offloading method
+        }
     } // testSuite
 
     /**
@@ -209,359 +463,1064 @@ class Main {
     } // simpleTest
 
     /**
-     * This method calculates the cost, as defined within the paper, for processing all the tasks.
+     * This method simulates the marked tasks arriving at the local user one after another, at ARRIVAL_RATE on average,
+     * and queueing for the CPUs and transmission links they need.  The time each task completes and the time the last
+     * task completes are printed to the user.
      *
-     * @return Cost of processing all tasks
+     * @param local The local user
      * @throws CustomException Indicates program error
      */
-    private double calcCost() throws CustomException {
-        double tE = 0.0;        // Total energy
-        double timeL = 0.0;     // Total time delay from Local
-        double timeAP = 0.0;    // Total time delay from AP
-        double timeRC = 0.0;    // Total time delay from RC
+    private void queueingTest(LocalUser local) throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        EventSimulator sim = new EventSimulator(QUEUE_DISCIPLINE);
+        double time = 0.0;                                  // Arrival time of the next task
+        int location;
         for (Task t : tasks) {
-            tE += t.totalEnergy();
-            if (t.getCompL()) timeL += t.totalTime();           // Total time delay from Local
-            else if (t.getCompAP()) timeAP += t.totalTime();    // Total time delay from AP
-            else timeRC += t.totalTime();                       // Total time delay from RC
+            location = t.getCompL() ? 0 : t.getCompAP() ? 1 : 2;
+            local.submit(sim, time, t.getInputData(), t.getOutputData(), t.getCyclesPerBit(), location);
+            time -= Math.log(1.0 - rand.nextDouble()) / ARRIVAL_RATE; // Exponential time between arrivals
         }
-        return tE + RHO * max(timeL, max(timeAP, timeRC));
-    } // calcCost
+        sim.run();
+        for (int k = 0; k < sim.getNumTasks(); k++) {
+            System.out.println("Task " + k + ":\tArrival: " + f.format(sim.getArrival(k)) + "\tCompletion: "
+                    + f.format(sim.getCompletion(k)) + "\tResponse: "
+                    + f.format(sim.getCompletion(k) - sim.getArrival(k)));
+        }
+        System.out.println("MAKESPAN: " + f.format(sim.getMakespan()) + " seconds");
+    } // queueingTest
 
     /**
-     * This method collects data from all the task offloading methods defined within the paper.  Each method is
-     * repeated runs number of times and all the results are placed within results.
+     * This method compares placing tasks as they arrive against placing them all at once.  For ONLINE_RUNS sets of
+     * new tasks, the mean cost of placing each task greedily and with a lookahead of PolicyRegistry.ONLINE_LOOKAHEAD
+     * tasks is printed against the mean cost of LAC 100, along with how many more Jules they use.  The number of
+     * decisions made per second over ONLINE_DECISIONS arriving tasks is then printed for each.
      *
-     * @param local The local user
-     * @param runs  The number of runs per method
-     * @return Results from the runs of each test
      * @throws CustomException Indicates program error
      */
-    private ArrayList<LinkedList<Double>> dataCollection(LocalUser local, int runs) throws CustomException {
-        ArrayList<LinkedList<Double>> results;  // To hold test results
-        /*
-        0 - Local Only
-        1 - Access Point Only
-        2 - Remote Cloud Only
-        3 - Random Only
-        4 - LC 100
-        5 - LAC 100
-        6 - Random Mapping 100
-         */
-        results = new ArrayList<>(NUMBER_OF_UNIQUE_METHODS);
-        for (int i = 0; i < NUMBER_OF_UNIQUE_METHODS; i++) {
-            results.add(new LinkedList<>());
-        }
-        for (int test = 0; test < NUMBER_OF_UNIQUE_METHODS; test++) {
-            try {
-                for (int run = 0; run < runs; run++) {
-                    loadTasks(local);                   // Load new tasks
-                    markAll(test, local);               // Mark for proper execution
-                    local.resolveTasks();               // Resolve tasks
-                    results.get(test).add(calcCost());  // Append to results
+    private void onlineTest() throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        int[] allowed = {0, 1, 2};                          // LAC 100 uses every location
+        int[] lookaheads = {0, PolicyRegistry.ONLINE_LOOKAHEAD};
+        String[] names = {"ONLINE (GREEDY)", "ONLINE (LOOKAHEAD " + PolicyRegistry.ONLINE_LOOKAHEAD + ")"};
+        double[] online = new double[lookaheads.length];   // Total cost of each online placer
+        double offline = 0.0;                               // Total cost of LAC 100
+        LocalUser local = buildTopology(params);
+        SplittableRandom seeds = new SplittableRandom(options.getSeed());
+
+        for (int run = 0; run < ONLINE_RUNS; run++) {
+            Main set = new Main(params, seeds.nextLong());
+            set.loadTasks(local, new TaskBatch(NUMBER_OF_TASKS));
+            CostModel model = new CostModel(set.tasks, local, params.get(Parameters.RHO));
+            offline += model.cost(new BranchAndBound(model).solve(allowed));
+            for (int i = 0; i < lookaheads.length; i++) {
+                OnlinePlacer placer = new OnlinePlacer(local, params.get(Parameters.RHO), allowed, lookaheads[i],
+                        set.tasks.size());
+                int[] locations = new int[set.tasks.size()];
+                for (int k = 0; k < locations.length; k++) {
+                    locations[k] = placer.place(set.tasks.get(k));
                 }
-            } catch (UnsupportedOperationException e) {
-                System.out.println("NOTE: Test " + test + " not run as not yet implemented");
+                online[i] += model.cost(locations);
             }
         }
-        return results;
-    } // dataCollection
+        System.out.println("\nLAC 100:\tMean Cost: " + f.format(offline / ONLINE_RUNS) + " Jules");
+        for (int i = 0; i < lookaheads.length; i++) {
+            System.out.println(names[i] + ":\tMean Cost: " + f.format(online[i] / ONLINE_RUNS)
+                    + " Jules\tOver LAC 100: " + f.format(100 * (online[i] - offline) / offline) + "%");
+        }
+        // Throughput over a stream of arriving tasks, drawn beforehand so only the decisions are timed
+        TaskBatch arrivals = new TaskBatch(4096);
+        loadBatch(arrivals);
+        for (int i = 0; i < lookaheads.length; i++) {
+            OnlinePlacer placer = new OnlinePlacer(local, params.get(Parameters.RHO), allowed, lookaheads[i], 0);
+            long start = System.nanoTime();
+            for (int d = 0; d < ONLINE_DECISIONS; d++) {
+                int k = d & 4095;
+                placer.place(arrivals.inputData()[k], arrivals.outputData()[k], arrivals.cyclesPerBit()[k]);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(names[i] + ":\t" + f.format(ONLINE_DECISIONS / seconds / 1e6) + " million decisions per "
+                    + "second");
+        }
+    } // onlineTest
 
     /**
-     * This method resets all the calculated information regarding the tasks which are to be executed.  Resetting is
-     * necessary in order to use the same tasks using various offloading heuristics in order to compare performance.
+     * This method compares LAC 100 by dynamic programming, to within PolicyRegistry.DP_EPSILON, against the best
+     * placement, found by checking every placement.  For DP_RUNS sets of NUMBER_OF_TASKS new tasks, the mean and
+     * largest gap between the cost found and the best cost are printed next to the mean and largest bound on the gap
+     * which dynamic programming guarantees and the mean cells of its grid, as is the number of sets for which the best
+     * placement was found, the number for which the gap was within the bound, which should be every set, and the
+     * number for which the bound was within epsilon of the best cost.  For DP_LARGE_RUNS sets of DP_LARGE_TASKS tasks,
+     * too many to check every placement of, the same bound and the mean time taken are printed, with the mean and
+     * largest gap to the best of dynamic programming, simulated annealing and the genetic algorithm, each given
+     * PolicyRegistry.META_ROUNDS rounds, and the number of sets for which dynamic programming was that best.
+     *
+     * @throws CustomException Indicates program error
      */
-    private void resetTasks() {
-        for (Task t : tasks) {
-            t.reset();
+    private void dpTest() throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        int[] allowed = {0, 1, 2};                          // LAC 100 uses every location
+        double epsilon = PolicyRegistry.DP_EPSILON;
+        LocalUser local = buildTopology(params);
+        SplittableRandom seeds = new SplittableRandom(options.getSeed());
+
+        for (int size = 0; size < 2; size++) {
+            int numTasks = size == 0 ? NUMBER_OF_TASKS : DP_LARGE_TASKS;
+            int runs = size == 0 ? DP_RUNS : DP_LARGE_RUNS;
+            double gap = 0.0;                               // Total relative gap to the best cost
+            double largest = 0.0;                           // Largest relative gap to the best cost
+            double bound = 0.0;                             // Total relative bound on the gap
+            double largestBound = 0.0;                      // Largest relative bound on the gap
+            long cells = 0;                                 // Total cells of the grids
+            int within = 0;                                 // Sets for which the gap was within the bound
+            int guaranteed = 0;                             // Sets for which the bound was within epsilon
+            int found = 0;                                  // Sets for which the best placement was found
+            long time = 0;                                  // Nanoseconds; total time of dynamic programming
+            for (int run = 0; run < runs; run++) {
+                long seed = seeds.nextLong();
+                Main set = new Main(params, seed);
+                set.loadTasks(local, new TaskBatch(numTasks));
+                CostModel model = new CostModel(set.tasks, local, params.get(Parameters.RHO));
+                long start = System.nanoTime();
+                DynamicProgram dp = new DynamicProgram(model, epsilon, PolicyRegistry.DP_CHOICES);
+                double cost = model.cost(dp.solve(allowed));
+                time += System.nanoTime() - start;
+                double best;                                // Best cost, or for large sets the best found
+                if (size == 0) {
+                    best = model.cost(new GrayCodeSearch(model).search(allowed));
+                } else {
+                    best = cost;
+                    for (int method : new int[]{Metaheuristic.ANNEALING, Metaheuristic.GENETIC}) {
+                        best = Math.min(best, model.cost(new Metaheuristic(model, method, seed, 0,
+                                PolicyRegistry.META_ROUNDS).search(allowed)));
+                    }
+                }
+                gap += (cost - best) / best;
+                largest = max(largest, (cost - best) / best);
+                bound += dp.getErrorBound() / best;
+                largestBound = max(largestBound, dp.getErrorBound() / best);
+                cells += dp.getGrid();
+                found += cost <= best ? 1 : 0;
+                within += cost - best <= dp.getErrorBound() ? 1 : 0;
+                guaranteed += dp.getErrorBound() <= epsilon * best ? 1 : 0;
+            }
+            String name = "DP (" + numTasks + " TASKS):\t";
+            System.out.println(name + "Mean Gap: " + f.format(100 * gap / runs) + "%\tLargest Gap: "
+                    + f.format(100 * largest) + "%\t" + (size == 0 ? "Best Found: " : "Best Of DP, Annealing And "
+                    + "Genetic: ") + found + " of " + runs);
+            System.out.println(name + "Mean Bound: " + f.format(100 * bound / runs) + "%\tLargest Bound: "
+                    + f.format(100 * largestBound) + "%\t" + (size == 0 ? "Gap Within Bound: " + within + " of "
+                    + runs + "\t" : "") + "Bound Within " + f.format(100 * epsilon) + "%: " + guaranteed + " of "
+                    + runs + "\tMean Grid: " + cells / runs + " cells\t" + f.format(time / 1e6 / runs) + " ms per set");
         }
-    } // resetTasks
+    } // dpTest
 
     /**
-     * This method prints the results from the simulation to the user.  This includes the time and energy of each
-     * task, the total time and energy of all the tasks as well as the cost, as defined within the paper.
+     * This method finds the Pareto front of energy and makespan of PARETO_RUNS sets of NUMBER_OF_TASKS new tasks for
+     * LAC 100.  For each set, the placement looked up for each of PARETO_RHOS is checked against branch-and-bound with
+     * that rho, and the placement looked up for PARETO_DEADLINES deadlines spread over the front against the least
+     * energy of every placement within each.  The front of the first set, the mean size of the fronts and the time to
+     * find them and to look up PARETO_QUERIES rhos and deadlines are printed.
      *
      * @throws CustomException Indicates program error
      */
-    private void displayAllTaskInfo() throws CustomException {
+    private void paretoTest() throws CustomException {
         DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
-        int taskNum = 0;                                    // To keep track of number of tasks processed
-        double tE = 0.0;                                    // Total energy
-        double tT = 0.0;                                    // Total time
-        for (Task t : tasks) {
-            System.out.println("Task " + taskNum++ + ":\tTotal Energy: " + f.format(t.totalEnergy()) + "\tTotal "
-                    + "Time: " + f.format(t.totalTime()));
-            tE += t.totalEnergy();
-            tT += t.totalTime();
+        int[] allowed = {0, 1, 2};                          // LAC 100 uses every location
+        int rhoWrong = 0;                                   // Lookups for a rho costing more than branch-and-bound
+        int deadlineWrong = 0;                              // Lookups for a deadline not of the least energy
+        long points = 0;                                    // Placements on the fronts
+        long vertices = 0;                                  // Placements on the hulls of the fronts
+        long time = 0;                                      // Nanoseconds; total time finding the fronts
+        LocalUser local = buildTopology(params);
+        SplittableRandom seeds = new SplittableRandom(options.getSeed());
+        ParetoFront first = null;                           // Front of the first set
+
+        for (int run = 0; run < PARETO_RUNS; run++) {
+            Main set = new Main(params, seeds.nextLong());
+            set.loadTasks(local, new TaskBatch(NUMBER_OF_TASKS));
+            CostModel model = new CostModel(set.tasks, local, params.get(Parameters.RHO));
+            long start = System.nanoTime();
+            ParetoFront front = new ParetoFront(model, allowed);
+            time += System.nanoTime() - start;
+            points += front.size();
+            vertices += front.hullSize();
+            if (first == null) {
+                first = front;
+            }
+            for (double rho : PARETO_RHOS) {
+                CostModel weighted = new CostModel(set.tasks, local, rho);
+                double best = weighted.cost(new BranchAndBound(weighted).solve(allowed));
+                int found = front.bestFor(rho);
+                if (front.cost(found, rho) > best
+                        || weighted.cost(front.getPlacement(found)) != front.cost(found, rho)) {
+                    rhoWrong++;
+                }
+            }
+            double[] deadlines = new double[PARETO_DEADLINES];
+            double[] least = new double[PARETO_DEADLINES];  // Least energy of every placement within each deadline
+            double low = front.getMakespan(0);
+            double high = front.getMakespan(front.size() - 1);
+            for (int d = 0; d < PARETO_DEADLINES; d++) {
+                deadlines[d] = low + (high - low) * d / (PARETO_DEADLINES - 1);
+                least[d] = Double.MAX_VALUE;
+            }
+            int[] placement = new int[NUMBER_OF_TASKS];
+            do {
+                double energy = 0.0;
+                double[] delay = new double[CostModel.LOCATIONS];
+                for (int k = 0; k < NUMBER_OF_TASKS; k++) {
+                    energy += model.getEnergy(placement[k], k);
+                    delay[placement[k]] += model.getTime(placement[k], k);
+                }
+                double makespan = max(delay[0], max(delay[1], delay[2]));
+                for (int d = 0; d < PARETO_DEADLINES; d++) {
+                    if (makespan <= deadlines[d] && energy < least[d]) {
+                        least[d] = energy;
+                    }
+                }
+            } while (nextPlacement(placement));
+            for (int d = 0; d < PARETO_DEADLINES; d++) {
+                int found = front.leastEnergyWithin(deadlines[d]);
+                if (found < 0 || front.getEnergy(found) != least[d]) {
+                    deadlineWrong++;
+                }
+            }
         }
-        System.out.println("ALL:\tTotal Energy: " + f.format(tE) + "\tTotal Time: " + f.format(tT) + "\tTotal: "
-                + f.format(tE + tT));
-        System.out.println("COST: " + f.format(calcCost()) + " Jules");
-    } // displayAllTaskInfo
+
+        System.out.println("FRONT OF THE FIRST SET (" + first.size() + " placements, " + first.hullSize()
+                + " on the hull):");
+        for (int i = 0; i < first.size(); i++) {
+            System.out.println("Energy: " + f.format(first.getEnergy(i)) + " Jules\tMakespan: "
+                    + f.format(first.getMakespan(i)) + " s\tPlacement: " + Arrays.toString(first.getPlacement(i)));
+        }
+        for (double rho : PARETO_RHOS) {
+            int found = first.bestFor(rho);
+            System.out.println("RHO " + rho + ":\tEnergy: " + f.format(first.getEnergy(found)) + " Jules\tMakespan: "
+                    + f.format(first.getMakespan(found)) + " s\tCost: " + f.format(first.cost(found, rho))
+                    + " Jules");
+        }
+        boolean[] returned = new boolean[first.size()];     // Placements returned by the timed lookups
+        double span = first.getMakespan(first.size() - 1) - first.getMakespan(0);
+        long start = System.nanoTime();
+        for (int q = 0; q < PARETO_QUERIES; q++) {
+            returned[first.bestFor(q * 1e-4)] = true;
+        }
+        long rhoTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int q = 0; q < PARETO_QUERIES; q++) {
+            returned[first.leastEnergyWithin(first.getMakespan(0) + span * q / PARETO_QUERIES)] = true;
+        }
+        long deadlineTime = System.nanoTime() - start;
+        int distinct = 0;
+        for (boolean r : returned) {
+            distinct += r ? 1 : 0;
+        }
+        System.out.println("FRONTS:\tMean Size: " + f.format((double) points / PARETO_RUNS) + "\tMean Hull: "
+                + f.format((double) vertices / PARETO_RUNS) + "\t" + f.format(time / 1e6 / PARETO_RUNS)
+                + " ms per set");
+        System.out.println("RHO LOOKUPS:\t" + rhoWrong + " of " + PARETO_RUNS * PARETO_RHOS.length
+                + " worse than branch-and-bound\t" + f.format((double) rhoTime / PARETO_QUERIES) + " ns each");
+        System.out.println("DEADLINE LOOKUPS:\t" + deadlineWrong + " of " + PARETO_RUNS * PARETO_DEADLINES
+                + " not of least energy\t" + f.format((double) deadlineTime / PARETO_QUERIES) + " ns each");
+        System.out.println("Timed lookups returned " + distinct + " of the " + first.size() + " placements");
+    } // paretoTest
 
     /**
-     * This method takes data within an ArrayList and outputs the data to the Output folder within the project.
+     * This method moves to the next placement of the tasks, counting in base 3 with the first task changing fastest.
      *
-     * @param data Data to output
+     * @param placement Location of each task; updated
+     * @return If there was a next placement, rather than returning to the first
      */
-    private void outputData(ArrayList<LinkedList<Double>> data) {
-        ArrayList<FileWriter> outs = new ArrayList<>(NUMBER_OF_UNIQUE_METHODS);
-        int testNum = 0; // Keeps track of current test
-        for (int i = 0; i < NUMBER_OF_UNIQUE_METHODS; i++) {
-            try {
-                new File("./Output/" + i + "_A" + ALPHA_BASE + "B" + BETA_BASE + ".txt");
-                outs.add(new FileWriter("./Output/" + i + "_A" + ALPHA_BASE + "_B" + BETA_BASE + ".txt"));
-            } catch (IOException e) {
-                e.printStackTrace();
+    private static boolean nextPlacement(int[] placement) {
+        for (int k = 0; k < placement.length; k++) {
+            if (++placement[k] < CostModel.LOCATIONS) {
+                return true;
             }
+            placement[k] = 0;
         }
-        for (LinkedList<Double> list : data) {
-            for (Double d : list) {
-                try {
-                    outs.get(testNum).write(d.toString() + "\n");
-                } catch (IOException e) {
-                    e.printStackTrace();
+        return false;
+    } // nextPlacement
+
+    /**
+     * This method places tasks with deadlines for little energy.  DEADLINE_CHECK_RUNS sets of NUMBER_OF_TASKS new tasks
+     * are placed by the search of the Deadline method and by the method itself, which tries every placement of so few
+     * tasks, and each is checked against every placement which meets every deadline.  DEADLINE_RUNS sets of
+     * DEADLINE_TASKS new tasks are then placed by each of DEADLINE_METHODS, and the mean energy, the rate of deadlines
+     * missed, by number and by weight, and the time to place a set are printed for each.  Deadlines are checked with
+     * each location serving its tasks in task order, as simulated.  Unless MAX_DEADLINE is finite, the deadlines are
+     * drawn from DEADLINE_MIN to DEADLINE_PER_TASK times the number of tasks of the set, and the weights are drawn
+     * from 1 to DEADLINE_WEIGHTS.
+     *
+     * @throws CustomException Indicates program error
+     */
+    private void deadlineTest() throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        int[] allowed = {0, 1, 2};                          // Every location
+        int feasible = 0;                                   // Sets of which some placement meets every deadline
+        int[] met = new int[2];                             // Of those, sets the search and the method meet all of
+        int[] least = new int[2];                           // Of those, sets each finds the least energy of
+        double[] excess = new double[2];                    // Of those, total fraction of energy above the least
+        LocalUser local = buildTopology(params);
+        SplittableRandom seeds = new SplittableRandom(options.getSeed());
+
+        for (int run = 0; run < DEADLINE_CHECK_RUNS; run++) {
+            TaskBatch batch = deadlineSet(seeds.nextLong(), NUMBER_OF_TASKS);
+            CostModel model = new CostModel(batch, local, params.get(Parameters.RHO));
+            double[] deadline = batch.deadline();
+            int[][] found = {new DeadlinePlacer(model, deadline, batch.weight(), allowed).search(),
+                    new DeadlinePlacer(model, deadline, batch.weight(), allowed).place()};
+            double best = Double.MAX_VALUE;                 // Least energy meeting every deadline
+            int[] placement = new int[NUMBER_OF_TASKS];
+            do {
+                double[] delay = new double[CostModel.LOCATIONS];
+                boolean fits = true;
+                for (int k = 0; k < NUMBER_OF_TASKS; k++) {
+                    delay[placement[k]] += model.getTime(placement[k], k);
+                    fits &= delay[placement[k]] <= deadline[k];
+                }
+                if (fits) {
+                    double e = 0.0;
+                    for (int k = 0; k < NUMBER_OF_TASKS; k++) {
+                        e += model.getEnergy(placement[k], k);
+                    }
+                    best = Math.min(best, e);
+                }
+            } while (nextPlacement(placement));
+            if (best < Double.MAX_VALUE) {
+                feasible++;
+                for (int i = 0; i < found.length; i++) {
+                    double[] delay = new double[CostModel.LOCATIONS];
+                    double energy = 0.0;                    // Energy of the placement found
+                    boolean meets = true;                   // If the placement found meets every deadline
+                    for (int k = 0; k < NUMBER_OF_TASKS; k++) {
+                        delay[found[i][k]] += model.getTime(found[i][k], k);
+                        meets &= delay[found[i][k]] <= deadline[k];
+                        energy += model.getEnergy(found[i][k], k);
+                    }
+                    if (meets) {
+                        met[i]++;
+                        least[i] += energy <= best * (1 + 1e-12) ? 1 : 0;
+                        excess[i] += energy / best - 1;
+                    }
                 }
             }
-            testNum++;
         }
-        for (FileWriter file : outs) {
-            try {
-                file.close();
-            } catch (IOException e) {
-                e.printStackTrace();
+        System.out.println("CHECK:\tEvery deadline can be met in " + feasible + " of " + DEADLINE_CHECK_RUNS
+                + " sets of " + NUMBER_OF_TASKS + " tasks");
+        for (int i = 0; i < met.length; i++) {
+            System.out.println((i == 0 ? "SEARCH" : "EXACT") + ":\tMet in " + met[i] + ", with the least energy in "
+                    + least[i] + " and " + f.format(100 * excess[i] / Math.max(1, met[i])) + "% more on average");
+        }
+
+        int methods = DEADLINE_METHODS.length;
+        double[] energy = new double[methods];              // Total energy of each method
+        long[] missed = new long[methods];                  // Total deadlines missed by each method
+        double[] missedWeight = new double[methods];        // Total weight of the deadlines missed by each method
+        long[] time = new long[methods];                    // Nanoseconds; total time placing by each method
+        double totalWeight = 0.0;
+        double[] taken = new double[DEADLINE_TASKS];        // Seconds each task takes at its location
+        double[] completion = new double[DEADLINE_TASKS];
+        for (int run = 0; run < DEADLINE_RUNS; run++) {
+            long seed = seeds.nextLong();
+            TaskBatch batch = deadlineSet(seed, DEADLINE_TASKS);
+            CostModel model = new CostModel(batch, local, params.get(Parameters.RHO));
+            for (int k = 0; k < DEADLINE_TASKS; k++) {
+                totalWeight += batch.weight()[k];
             }
+            for (int i = 0; i < methods; i++) {
+                long start = System.nanoTime();
+                int[] locations = PolicyRegistry.byKey(DEADLINE_METHODS[i]).place(batch, local, params,
+                        new SplittableRandom(seed));
+                time[i] += System.nanoTime() - start;
+                for (int k = 0; k < DEADLINE_TASKS; k++) {
+                    energy[i] += model.getEnergy(locations[k], k);
+                    taken[k] = model.getTime(locations[k], k);
+                }
+                missed[i] += DeadlinePlacer.inTaskOrder(locations, taken, batch.deadline(), completion);
+                missedWeight[i] += DeadlinePlacer.missedWeight(completion, batch.deadline(), batch.weight());
+            }
+        }
+        for (int i = 0; i < methods; i++) {
+            System.out.println(PolicyRegistry.byKey(DEADLINE_METHODS[i]).name().toUpperCase() + ":\tEnergy: "
+                    + f.format(energy[i] / DEADLINE_RUNS) + " Jules\tMissed: "
+                    + f.format(100.0 * missed[i] / DEADLINE_RUNS / DEADLINE_TASKS) + "%\tWeighted: "
+                    + f.format(100.0 * missedWeight[i] / totalWeight) + "%\t"
+                    + f.format(time[i] / 1e6 / DEADLINE_RUNS) + " ms per set of " + DEADLINE_TASKS + " tasks");
         }
-    } // outputData
+    } // deadlineTest
 
     /**
-     * This method asks the user for their preferred option for running the simulation.  Upon running the program
-     * the options will appear within the terminal and the user's response will be returned to facilitate
-     * desired execution.
+     * This method checks that statistics kept by separate threads and merged are those kept by one.  STATS_RUNS
+     * replications of every thread safe task offloading method on the same tasks are made by STATS_THREADS threads,
+     * each keeping statistics of the whole replications it makes, which are then merged.  The same results are also
+     * added one at a time, in order of replication, to a single RunStatistics.  The largest relative difference between
+     * the two of the mean, standard deviation, difference from COMPARE_METHOD and its half-width, quantiles and mean
+     * number of tasks at each location of any method is printed; it should be rounding error.
      *
-     * @return User's choice for execution
+     * @throws CustomException Indicates program error
      */
-    private char promptUser() {
-        Scanner s = new Scanner(System.in);
-        System.out.println("Please choose a testing mode:");
-        System.out.println("\t[0] Custom:\t\t\tConsecutively runs [1], [2], [3], and [4]. (DEFAULT).");
-        System.out.println("\t[1] Local User:\t\tAll tasks will be processed on the Local User.");
-        System.out.println("\t[2] Access Point:\tAll tasks will be processed on the Access Point.");
-        System.out.println("\t[3] Remote Cloud:\tAll tasks will be processed on the Remote Cloud.");
-        System.out.println("\t[4] Random:\t\t\tEach task is randomly assigned to LU, AP, or RC.");
-        System.out.println("\t[5] LC 100:\t\t\tProposed method from paper. Does not include AP.");
-        System.out.println("\t[6] LAC 100:\t\tPrimary offloading method investigated within paper.");
-        System.out.println("\t[7] RM 100:\t\t\tProposed method from paper. Uses Random Mapping algorithm.");
-        return s.next().charAt(0);
-    } // promptUser
+    private void statisticsTest() throws CustomException {
+        int methods = PolicyRegistry.count();
+        int reference = PolicyRegistry.indexOf(COMPARE_METHOD);
+        long[] seed = new long[STATS_RUNS];                 // Seed of each replication
+        double[][] cost = new double[STATS_RUNS][methods];  // Cost of each method in each replication
+        int[][][] placed = new int[STATS_RUNS][methods][];  // Tasks each placed at each location in each replication
+        SplittableRandom seeds = new SplittableRandom(options.getSeed());
+        for (int run = 0; run < STATS_RUNS; run++) {
+            seed[run] = seeds.nextLong();
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(STATS_THREADS);
+        List<Future<RunStatistics>> parts = new ArrayList<>();
+        for (int w = 0; w < STATS_THREADS; w++) {
+            final int worker = w;
+            parts.add(pool.submit(() -> { // The replications worker, worker + STATS_THREADS, ...
+                RunStatistics part = new RunStatistics(methods, NUMBER_OF_TASKS, 0, null, COMMON, reference);
+                for (int run = worker; run < STATS_RUNS; run += STATS_THREADS) {
+                    TaskBatch taskSet = new TaskBatch(NUMBER_OF_TASKS);
+                    for (int m = 0; m < methods; m++) {
+                        if (PolicyRegistry.get(m).isThreadSafe()) {
+                            placed[run][m] = new int[3];
+                            cost[run][m] = singleRun(params, m, seed[run], false, taskSet, placed[run][m]);
+                            part.write(m, cost[run][m]);
+                            part.placed(m, placed[run][m]);
+                        }
+                    }
+                }
+                return part;
+            }));
+        }
+        RunStatistics merged = new RunStatistics(methods, NUMBER_OF_TASKS, 0, null, COMMON, reference);
+        try {
+            for (Future<RunStatistics> part : parts) {
+                merged.merge(part.get());
+            }
+        } catch (ExecutionException e) {
+            throw new CustomException("ERROR: Statistics check failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("ERROR: Statistics check interrupted");
+        } finally {
+            pool.shutdown();
+        }
+        RunStatistics single = new RunStatistics(methods, NUMBER_OF_TASKS, 0, null, COMMON, reference);
+        for (int run = 0; run < STATS_RUNS; run++) {
+            for (int m = 0; m < methods; m++) {
+                if (placed[run][m] != null) {
+                    try {
+                        single.write(m, cost[run][m]);
+                    } catch (IOException e) {
+                        throw new CustomException("ERROR: " + e.getMessage()); // Not passed on, so never
+                    }
+                    single.placed(m, placed[run][m]);
+                }
+            }
+        }
+        double largest = 0.0;                               // Largest relative difference
+        for (int m = 0; m < methods; m++) {
+            double[] a = {merged.mean(m), merged.stdDev(m), merged.difference(m), merged.differenceHalfWidth(m),
+                    merged.quantile(m, 0.05), merged.quantile(m, 0.5), merged.quantile(m, 0.95),
+                    merged.meanPlaced(m, 0), merged.meanPlaced(m, 1), merged.meanPlaced(m, 2)};
+            double[] b = {single.mean(m), single.stdDev(m), single.difference(m), single.differenceHalfWidth(m),
+                    single.quantile(m, 0.05), single.quantile(m, 0.5), single.quantile(m, 0.95),
+                    single.meanPlaced(m, 0), single.meanPlaced(m, 1), single.meanPlaced(m, 2)};
+            for (int i = 0; i < a.length; i++) {
+                if (Double.isNaN(a[i]) && Double.isNaN(b[i])) {
+                    continue;
+                }
+                if (Double.isNaN(a[i]) != Double.isNaN(b[i])) {
+                    largest = Double.POSITIVE_INFINITY;
+                } else if (a[i] != b[i]) {
+                    largest = max(largest, Math.abs(a[i] - b[i]) / max(Math.abs(a[i]), Math.abs(b[i])));
+                }
+            }
+        }
+        merged.report();
+        System.out.println("\nMERGED:\t" + STATS_THREADS + " threads, " + STATS_RUNS
+                + " replications\tLargest Relative Difference From One At A Time: " + largest);
+    } // statisticsTest
 
-    // markForX Methods
+    /**
+     * This method creates a set of new tasks with deadlines and weights for deadlineTest.
+     *
+     * @param seed     Random number seed of the set
+     * @param numTasks Number of tasks
+     * @return The tasks
+     * @throws CustomException Indicates program error
+     */
+    private TaskBatch deadlineSet(long seed, int numTasks) throws CustomException {
+        Parameters p = new Parameters(params);
+        if (Double.isInfinite(p.get(Parameters.MAX_DEADLINE))) {
+            p.set(Parameters.MAX_DEADLINE, DEADLINE_PER_TASK * numTasks);
+            p.set(Parameters.MIN_DEADLINE, DEADLINE_MIN);
+        }
+        Main set = new Main(p, seed);
+        TaskBatch batch = new TaskBatch(numTasks);
+        set.loadBatch(batch);
+        for (int k = 0; k < numTasks; k++) {
+            batch.weight()[k] = 1 + set.taskRand.nextInt(DEADLINE_WEIGHTS);
+        }
+        return batch;
+    } // deadlineSet
 
     /**
-     * This method uses the appropriate, numerically indexed, markForX where X can be: 1) Local, 2) Access Point, 3)
-     * Remote Cloud, 4) Random, 5) LC100, 6) LAC100, and 7) Random Mapping 100
+     * This method places META_TASKS new tasks for LAC 100 by simulated annealing and by the genetic algorithm, each
+     * within PolicyRegistry.META_BUDGET milliseconds, and prints the cost of the best placement each had found over
+     * time, against the cost found by dynamic programming.
      *
-     * @param test the associated numerical index of the appropriate markForX method.
+     * @throws CustomException Indicates program error
      */
-    private void markAll(int test, LocalUser local) throws CustomException, UnsupportedOperationException {
-        switch (test) {
-            case 0:
-                markForL();
-                break;
-            case 1:
-                markForAP();
-                break;
-            case 2:
-                markForRC();
-                break;
-            case 3:
-                markForRandom();
-                break;
-            case 4:
-                markForLC100(local);
-                break;
-            case 5:
-                markForLAC100(local);
-                break;
-            case 6:
-                markForRM100();
+    private void metaheuristicTest() throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        int[] allowed = {0, 1, 2};                          // LAC 100 uses every location
+        int[] methods = {Metaheuristic.ANNEALING, Metaheuristic.GENETIC};
+        String[] names = {"ANNEALING", "GENETIC"};
+        LocalUser local = buildTopology(params);
+        Main set = new Main(params, options.getSeed());
+        set.loadTasks(local, new TaskBatch(META_TASKS));
+        CostModel model = new CostModel(set.tasks, local, params.get(Parameters.RHO));
+
+        long start = System.nanoTime();
+        double dp = model.cost(new DynamicProgram(model, PolicyRegistry.DP_EPSILON, PolicyRegistry.DP_CHOICES)
+                .solve(allowed));
+        System.out.println("DP:\t" + f.format((System.nanoTime() - start) / 1e6)
+                + " ms\t" + f.format(dp) + " Jules");
+        for (int i = 0; i < methods.length; i++) {
+            Metaheuristic search = new Metaheuristic(model, methods[i], options.getSeed(),
+                    PolicyRegistry.META_BUDGET, 0);
+            search.search(allowed);
+            for (double[] point : search.getTrace()) {
+                System.out.println(names[i] + ":\t" + f.format(point[0]) + " ms\t" + f.format(point[1]) + " Jules");
+            }
+            System.out.println(names[i] + " BEST:\t" + f.format(search.getBestCost()) + " Jules\tOver DP: "
+                    + f.format(100 * (search.getBestCost() - dp) / dp) + "%");
         }
-    } // markAll
+    } // metaheuristicTest
 
     /**
-     * This method marks the tasks to be processed locally.
+     * This method checks that the PlacementScorer in use calculates exactly the costs of the scalar scorer and of
+     * CostModel.cost.  For VECTOR_RUNS sets of NUMBER_OF_TASKS new tasks, VECTOR_PLACEMENTS random placements are
+     * scored by both and any cost which differs in any bit is counted; the count is not a multiple of the lanes, so
+     * the placements left over after the last whole vector are checked too.  Each set is then searched exhaustively
+     * with each scorer, the placements compared with the Gray code search, and the mean time of each printed.
+     *
+     * @throws CustomException Indicates program error
      */
-    private void markForL() throws CustomException {
-        for (Task t : tasks) {
-            t.markL();
+    private void vectorTest() throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        int[] allowed = {0, 1, 2};                          // LAC 100 uses every location
+        int[] codes = new int[NUMBER_OF_TASKS * VECTOR_PLACEMENTS];
+        double[] scalarCosts = new double[VECTOR_PLACEMENTS];
+        double[] costs = new double[VECTOR_PLACEMENTS];
+        int[] locations = new int[NUMBER_OF_TASKS];
+        long differ = 0;                                    // Costs which differ from the scalar scorer
+        int wrong = 0;                                      // Searches which found another placement
+        long scalarTime = 0;                                // Nanoseconds; total time of the scalar searches
+        long time = 0;                                      // Nanoseconds; total time of the searches in use
+        String name = "";
+        LocalUser local = buildTopology(params);
+        SplittableRandom seeds = new SplittableRandom(options.getSeed());
+
+        for (int run = 0; run < VECTOR_RUNS; run++) {
+            Main set = new Main(params, seeds.nextLong());
+            set.loadTasks(local, new TaskBatch(NUMBER_OF_TASKS));
+            CostModel model = new CostModel(set.tasks, local, params.get(Parameters.RHO));
+            PlacementScorer scalar = new ScalarPlacementScorer(model);
+            PlacementScorer scorer = PlacementScorer.of(model);
+            name = scorer.name();
+            SplittableRandom draw = new SplittableRandom(seeds.nextLong());
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = allowed[draw.nextInt(allowed.length)];
+            }
+            scalar.score(codes, VECTOR_PLACEMENTS, VECTOR_PLACEMENTS, scalarCosts);
+            scorer.score(codes, VECTOR_PLACEMENTS, VECTOR_PLACEMENTS, costs);
+            for (int c = 0; c < VECTOR_PLACEMENTS; c++) {
+                for (int k = 0; k < NUMBER_OF_TASKS; k++) {
+                    locations[k] = codes[k * VECTOR_PLACEMENTS + c];
+                }
+                if (Double.doubleToRawLongBits(costs[c]) != Double.doubleToRawLongBits(scalarCosts[c])
+                        || Double.doubleToRawLongBits(costs[c]) != Double.doubleToRawLongBits(model.cost(locations))) {
+                    differ++;
+                }
+            }
+
+            int[] expected = new GrayCodeSearch(model).search(allowed);
+            long start = System.nanoTime();
+            int[] found = new BlockSearch(model, scalar).search(allowed);
+            scalarTime += System.nanoTime() - start;
+            wrong += Arrays.equals(found, expected) ? 0 : 1;
+            start = System.nanoTime();
+            found = new BlockSearch(model, scorer).search(allowed);
+            time += System.nanoTime() - start;
+            wrong += Arrays.equals(found, expected) ? 0 : 1;
         }
-    } // markForL
+        System.out.println("SCORER:\t" + name);
+        System.out.println("DIFFERENT COSTS:\t" + differ + " of " + (long) VECTOR_RUNS * VECTOR_PLACEMENTS);
+        System.out.println("DIFFERENT PLACEMENTS:\t" + wrong + " of " + 2 * VECTOR_RUNS);
+        System.out.println("SCALAR SEARCH:\t" + f.format(scalarTime / 1e6 / VECTOR_RUNS) + " ms per set of "
+                + NUMBER_OF_TASKS + " tasks");
+        System.out.println("SEARCH IN USE:\t" + f.format(time / 1e6 / VECTOR_RUNS) + " ms per set of "
+                + NUMBER_OF_TASKS + " tasks");
+    } // vectorTest
 
     /**
-     * This method marks the tasks to be processed on the access point.
+     * This method replays the trace of tasks in TRACE_FILE, first importing TRACE_CSV into it if it does not exist.
+     * The tasks are read TRACE_BATCH at a time into a single batch, which is placed by the method of key TRACE_METHOD
+     * and resolved.  The tasks of each batch are then submitted to an event simulator at the times they arrived within
+     * the trace, in order of arrival, so they queue for the CPUs and transmission links behind the tasks before them;
+     * the simulation is run up to each batch's first arrival and the tasks which have completed are forgotten, so
+     * memory use does not grow with the length of the trace.  The number of tasks placed at each location, the total
+     * energy, the total of the cost of each batch, the mean time from arrival to completion, the time the last task
+     * completes and the rate tasks were replayed at are printed.
+     *
+     * @throws CustomException Indicates program error
      */
-    private void markForAP() throws CustomException {
-        for (Task t : tasks) {
-            t.markAP();
+    private void traceTest() throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        OffloadingPolicy policy = PolicyRegistry.byKey(TRACE_METHOD);
+        LocalUser local = buildTopology(params);
+        TaskBatch batch = new TaskBatch(TRACE_BATCH);
+        long[] placed = new long[CostModel.LOCATIONS];      // Tasks placed at each location
+        double energy = 0.0;                                // Total energy of every task
+        double cost = 0.0;                                  // Total cost of every batch
+        long batches = 0;
+        double rho = params.get(Parameters.RHO);
+        double[] arrivals = new double[TRACE_BATCH];        // Time each task of the batch arrived
+        EventSimulator sim = new EventSimulator(QUEUE_DISCIPLINE);
+        double response = 0.0;                              // Total time from arrival to completion of every task
+        int counted = 0;                                    // Tasks of the simulator whose response is counted
+
+        try {
+            if (!Files.exists(Paths.get(TRACE_FILE)) && Files.exists(Paths.get(TRACE_CSV))) {
+                System.out.println(TraceFile.importCsv(TRACE_CSV, TRACE_FILE) + " tasks imported from " + TRACE_CSV);
+            }
+            long start = System.nanoTime();
+            try (TraceFile trace = new TraceFile(TRACE_FILE)) {
+                while (trace.next(batch, arrivals) > 0) {
+                    batch.place(policy.place(batch, local, params, rand));
+                    local.resolveBatch(batch);
+                    cost += batch.cost(rho);
+                    sim.runUntil(arrivals[0]);
+                    for (int done = sim.getDone(); counted < done; counted++) {
+                        response += sim.getCompletion(counted) - sim.getArrival(counted);
+                    }
+                    if (2 * counted >= sim.getNumTasks()) { // Each task is moved a bounded number of times
+                        sim.forget(counted);
+                        counted = 0;
+                    }
+                    for (int k = 0; k < batch.size(); k++) {
+                        energy += batch.getEnergy(k);
+                        placed[batch.getLocation(k)]++;
+                        local.submit(sim, arrivals[k], batch.inputData()[k], batch.outputData()[k],
+                                batch.cyclesPerBit()[k], batch.getLocation(k));
+                    }
+                    batches++;
+                }
+                sim.run();
+                for (; counted < sim.getNumTasks(); counted++) {
+                    response += sim.getCompletion(counted) - sim.getArrival(counted);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.println("TASKS:\t" + trace.getRead() + "\tBatches: " + batches + "\tLast Arrival: "
+                        + f.format(trace.getLastArrival()) + " seconds");
+                System.out.println("PLACED:\tLocal: " + placed[0] + "\tAccess Point: " + placed[1]
+                        + "\tRemote Cloud: " + placed[2]);
+                System.out.println("ENERGY: " + f.format(energy) + " Jules\tCOST: " + f.format(cost) + " Jules");
+                System.out.println("QUEUEING:\tMean Response: " + f.format(response / Math.max(1, trace.getRead()))
+                        + " seconds\tMakespan: " + f.format(sim.getMakespan()) + " seconds");
+                System.out.println(policy.name().toUpperCase() + ":\t" + f.format(trace.getRead() / seconds)
+                        + " tasks per second");
+            }
+        } catch (IOException e) {
+            throw new CustomException("ERROR: Could not replay trace: " + e.getMessage());
         }
-    } // markForAP
+    } // traceTest
 
     /**
-     * This method marks the tasks to be processed on the remote cloud.
+     * This method calculates the cost, as defined within the paper, for processing all the tasks.
+     *
+     * @param tasks The resolved tasks
+     * @param rho   Weight of the delay within the cost
+     * @return Cost of processing all tasks
+     * @throws CustomException Indicates program error
      */
-    private void markForRC() throws CustomException {
+    static double calcCost(ArrayList<Task> tasks, double rho) throws CustomException {
+        double tE = 0.0;        // Total energy
+        double timeL = 0.0;     // Total time delay from Local
+        double timeAP = 0.0;    // Total time delay from AP
+        double timeRC = 0.0;    // Total time delay from RC
+        int loc;
         for (Task t : tasks) {
-            t.markRC();
+            tE += t.totalEnergy();
+            loc = t.getLocation();
+            if (loc == 0) timeL += t.totalTime();               // Total time delay from Local
+            else if (loc == 1) timeAP += t.totalTime();         // Total time delay from AP
+            else timeRC += t.totalTime();                       // Total time delay from RC
         }
-    } // markForRC
+        return tE + rho * max(timeL, max(timeAP, timeRC));
+    } // calcCost
 
     /**
-     * This method marks the tasks to be processed randomly at one of the three locations.
+     * This method collects the given number of results of every task offloading method, NUMBER_OF_RUNS by default,
+     * and writes them to the output directory, the Output folder within the project by default, in the given format,
+     * OUTPUT_FORMAT by default, as they are produced.  The statistics of the results of each method are printed to
+     * the user and written to summary.csv within the output directory, with the difference of each from the method of
+     * COMPARE_METHOD.  The tasks are sampled as given, SAMPLING by default.  If a precision is given, STOP_PRECISION by
+     * default, the runs of a method stop once its mean cost or, sampling the same tasks for every method, its
+     * difference from the method compared to is known to within it.
+     *
+     * @throws CustomException Indicates program error
      */
-    private void markForRandom() throws CustomException {
-        int n;
-        for (Task t : tasks) {
-            n = rand.nextInt(3);
-            if (n == 0) {           // Local
-                t.markL();
-            } else if (n == 1) {    // Access Point
-                t.markAP();
-            } else {                // Remote cloud
-                t.markRC();
-            }
-        }
-    } // markForRandom
-
-    /**
-     * This method runs a simulation using the LC 100 method described in the paper.
-     * The algorithm was not successfully implemented, and so the best possible solution was obtained instead.
-     * If the intended algorithm was implemented, the minimization problem would have obtained similar solutions.
-     *
-     * @param local the local user
-     */
-    private void markForLC100(LocalUser local) throws CustomException {
-        if (NUMBER_OF_TASKS != 10) {
-            throw new CustomException("LC100 requires NUMBER_OF_TASKS to be equal to 10!");
-        }
-        // Save variables for best solutions
-        int[] best_locations = new int[10];
-        double best_cost = Double.MAX_VALUE;
-        // Store locations to process each of the ten tasks.
-        int[] i = new int[10];
-        // Begin brute force search for optimal solution
-        for (i[0] = 0; i[0] < 2; i[0]++) {
-            for (i[1] = 0; i[1] < 2; i[1]++) {
-                for (i[2] = 0; i[2] < 2; i[2]++) {
-                    for (i[3] = 0; i[3] < 2; i[3]++) {
-                        for (i[4] = 0; i[4] < 2; i[4]++) {
-                            for (i[5] = 0; i[5] < 2; i[5]++) {
-                                for (i[6] = 0; i[6] < 2; i[6]++) {
-                                    for (i[7] = 0; i[7] < 2; i[7]++) {
-                                        for (i[8] = 0; i[8] < 2; i[8]++) {
-                                            for (i[9] = 0; i[9] < 2; i[9]++) {
-                                                // Mark the tasks according to locations from above loops
-                                                for (int k = 0; k < tasks.size(); k++) {
-                                                    tasks.get(k).mark(i[k] * 2);
-                                                }
-                                                // Temporarily resolve task
-                                                local.resolveTasks();
-                                                // Measure cost
-                                                double new_cost = calcCost();
-                                                // If new cost is better than old cost, this is the new optimal
-                                                if (new_cost < best_cost) {
-                                                    // Save new optimal solution
-                                                    best_cost = new_cost;
-                                                    best_locations = new int[]{i[0] * 2, i[1] * 2, i[2] * 2, i[3] * 2
-                                                            , i[4] * 2, i[5] * 2, i[6] * 2, i[7] * 2
-                                                            , i[8] * 2, i[9] * 2};
-                                                }
-                                                resetTasks();
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
+    private void collectData() throws CustomException {
+        ExecutorService pool = Executors.newFixedThreadPool(NUMBER_OF_THREADS); // Threads making the runs
+        ResultWriter out = null;                                                // Results are written through
+        RunStatistics stats;                                                    // Results are summarised by
+        try {
+            Files.createDirectories(Paths.get(options.getOutput()));
+            if (options.getFormat() != ResultWriter.NONE) {
+                out = new ResultWriter(options.getOutput(), PolicyRegistry.count(),
+                        params.get(Parameters.ALPHA_BASE), params.get(Parameters.BETA_BASE), options.getFormat());
+            }
+            stats = new RunStatistics(PolicyRegistry.count(), NUMBER_OF_TASKS, options.getPrecision(), out,
+                    options.getSampling(), PolicyRegistry.indexOf(COMPARE_METHOD));
+            dataCollection(params, options.getRuns(), options.getSeed(), options.getSampling(), pool, stats, null);
+            if (out != null) {
+                out.close();
+            }
+            stats.report();
+            try (BufferedWriter summary = Files.newBufferedWriter(Paths.get(options.getOutput(), "summary.csv"))) {
+                stats.writeCsv(summary);
+            }
+            if (PolicyRegistry.cache() != null) {
+                PolicyRegistry.cache().report();
+            }
+        } catch (IOException e) {
+            throw new CustomException("ERROR: Could not write results: " + e.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    } // collectData
+
+    /**
+     * This method runs the parameter sweep over the given grid, SWEEP_GRID by default, with the given number of runs,
+     * SWEEP_RUNS by default, of each of the given methods, SWEEP_METHODS or the methods of the paper by default, at
+     * each point of the grid, and writes the table of results to sweep.csv within the output directory.
+     *
+     * @throws CustomException Indicates program error
+     */
+    private void sweepTest() throws CustomException {
+        ExecutorService pool = Executors.newFixedThreadPool(NUMBER_OF_THREADS); // Threads making the runs
+        ParameterSweep sweep = new ParameterSweep(options.getGrid());
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(Paths.get(options.getOutput()));
+            sweep.run(params, options.getSweepRuns(), options.getSeed(), options.getSweepMethods(), pool,
+                    Paths.get(options.getOutput(), "sweep.csv").toString());
+        } catch (IOException e) {
+            throw new CustomException("ERROR: Could not write results: " + e.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+        if (PolicyRegistry.cache() != null) {
+            PolicyRegistry.cache().report();
+        }
+        System.out.println(sweep.size() + " points swept in " + (System.nanoTime() - start) / 1000000000 + " s. "
+                + "Table located in " + options.getOutput() + " directory.");
+    } // sweepTest
+
+    /**
+     * This method collects data from every registered task offloading method, by index.  Each method is repeated
+     * runs number of times and each result, and the number of tasks the run placed at each location, is passed to out
+     * as soon as it is available.  The runs are independent and are made concurrently on the given threads, each with
+     * its own tasks, architecture and random number generator; the runs of a method which is not thread safe are
+     * instead made one at a time on the calling thread.  The seed of each run is derived from seed in a fixed order
+     * and the results are passed on in that order, so they do not depend on the number of threads.  At most
+     * RUNS_IN_FLIGHT runs are started ahead of the result being passed on, so memory use does not grow with the number
+     * of runs.  Once out is done with a method no more of its results are passed on and its runs not yet started are
+     * not made; as out only sees the results in order, the results passed on still do not depend on the threads.
+     * <p>
+     * With INDEPENDENT sampling every run of every method has its own seed, and the runs are made method by method.
+     * With COMMON sampling the runs are made replication by replication, every method of a replication having the
+     * same seed and so the same tasks, which makes the differences between the methods those of the methods rather
+     * than of the tasks.  ANTITHETIC sampling is as COMMON, but every second replication uses the seed of the one
+     * before with each uniform random number u of its tasks replaced by 1 - u, so the costs of each pair are
+     * negatively correlated; runs must then be even.
+     * <p>
+     * Since the seeds are the same each time, runs with the same task parameters create the same tasks.  If taskSets
+     * is given, the tasks of each run are kept in it the first time and used again on later calls rather than being
+     * created again.
+     *
+     * @param p        Constants of the architecture and tasks
+     * @param runs     The number of runs per method
+     * @param seed     Random number seed the seed of each run is derived from
+     * @param sampling INDEPENDENT, COMMON or ANTITHETIC
+     * @param pool     Threads to make the runs on
+     * @param out      Results are passed to
+     * @param taskSets Tasks of each run, by method then run; or null to create new tasks every time
+     * @throws CustomException Indicates program error, or an odd number of runs with ANTITHETIC sampling
+     * @throws IOException     If out cannot write a result
+     */
+    static void dataCollection(Parameters p, int runs, long seed, int sampling, ExecutorService pool, ResultSink out,
+                               TaskBatch[] taskSets) throws CustomException, IOException {
+        ArrayDeque<PendingRun> pending;         // Runs which have been started, in order
+        SplittableRandom seeds;                 // To derive the seed of each run
+        boolean[] skipped;                      // Methods which are not implemented
+        int methods = PolicyRegistry.count();   // Methods, numbered as within PolicyRegistry
+        long runSeed = 0;                       // Seed of the run
+
+        if (sampling == ANTITHETIC && runs % 2 != 0) {
+            throw new CustomException("ERROR: Antithetic sampling needs an even number of runs, not " + runs);
+        }
+        pending = new ArrayDeque<>(RUNS_IN_FLIGHT);
+        seeds = new SplittableRandom(seed);
+        skipped = new boolean[methods];
+        try {
+            for (int i = 0; i < methods * runs; i++) {
+                final int method = sampling == INDEPENDENT ? i / runs : i % methods;
+                final int run = sampling == INDEPENDENT ? i % runs : i / methods;
+                final boolean antithetic = sampling == ANTITHETIC && run % 2 == 1;
+                // A replication's seed is drawn even if it is not run, so later seeds are the same
+                if (sampling == INDEPENDENT || method == 0 && !antithetic) {
+                    runSeed = seeds.nextLong();
+                }
+                if (out.isDone(method)) {
+                    continue;
+                }
+                final TaskBatch taskSet;
+                if (taskSets == null) {
+                    taskSet = new TaskBatch(NUMBER_OF_TASKS);
+                } else {
+                    if (taskSets[method * runs + run] == null) {
+                        taskSets[method * runs + run] = new TaskBatch(NUMBER_OF_TASKS);
                     }
+                    taskSet = taskSets[method * runs + run];
                 }
+                if (pending.size() == RUNS_IN_FLIGHT) {
+                    writeResult(pending.remove(), out, skipped);
+                }
+                final long s = runSeed;
+                final int[] placed = new int[3];
+                Callable<Double> call = () -> singleRun(p, method, s, antithetic, taskSet, placed);
+                if (PolicyRegistry.get(method).isThreadSafe()) {
+                    pending.add(new PendingRun(pool.submit(call), method, placed));
+                } else {
+                    FutureTask<Double> inline = new FutureTask<>(call);
+                    inline.run();
+                    pending.add(new PendingRun(inline, method, placed));
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeResult(pending.remove(), out, skipped);
+            }
+        } finally {
+            for (PendingRun run : pending) { // Only if a run has failed
+                run.result.cancel(true);
             }
         }
-        // Mark the tasks according to the best found locations
-        for (int k = 0; k < tasks.size(); k++) {
-            tasks.get(k).mark(best_locations[k]);
-        }
-    } // markForLC100
-
-    /**
-     * This method runs a simulation using the LAC 100 method described in the paper.
-     *
-     * @param local the local user
-     */
-    private void markForLAC100(LocalUser local) throws CustomException {
-        if (NUMBER_OF_TASKS != 10) {
-            throw new CustomException("LAC100 requires NUMBER_OF_TASKS to be equal to 10!");
-        }
-        // Save variables for best solutions
-        int[] best_locations = new int[10];
-        double best_cost = Double.MAX_VALUE;
-        // Store locations to process each of the ten tasks.
-        int[] i = new int[10];
-        // Begin brute force search for optimal solution
-        for (i[0] = 0; i[0] < 3; i[0]++) {
-            for (i[1] = 0; i[1] < 3; i[1]++) {
-                for (i[2] = 0; i[2] < 3; i[2]++) {
-                    for (i[3] = 0; i[3] < 3; i[3]++) {
-                        for (i[4] = 0; i[4] < 3; i[4]++) {
-                            for (i[5] = 0; i[5] < 3; i[5]++) {
-                                for (i[6] = 0; i[6] < 3; i[6]++) {
-                                    for (i[7] = 0; i[7] < 3; i[7]++) {
-                                        for (i[8] = 0; i[8] < 3; i[8]++) {
-                                            for (i[9] = 0; i[9] < 3; i[9]++) {
-                                                // Mark the tasks according to locations from above loops
-                                                for (int k = 0; k < tasks.size(); k++) {
-                                                    tasks.get(k).mark(i[k]);
-                                                }
-                                                // Temporarily resolve task
-                                                local.resolveTasks();
-                                                // Measure cost
-                                                double new_cost = calcCost();
-                                                // If new cost is better than old cost, this is the new optimal
-                                                if (new_cost < best_cost) {
-                                                    // Save new optimal solution
-                                                    best_cost = new_cost;
-                                                    best_locations = new int[]{i[0], i[1], i[2], i[3], i[4], i[5]
-                                                            , i[6], i[7], i[8], i[9]};
-                                                }
-                                                resetTasks();
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
+    } // dataCollection
+
+    /**
+     * A data collection run which has been started, with the method it runs and the number of tasks it placed at each
+     * location, filled in by the run.
+     */
+    private static class PendingRun {
+        private Future<Double> result;      // Cost of the run
+        private int method;                 // The associated numerical index of the task offloading method
+        private int[] placed;               // Number of tasks placed at each location, by location code
+
+        PendingRun(Future<Double> result, int method, int[] placed) {
+            this.result = result;
+            this.method = method;
+            this.placed = placed;
+        } // Constructor
+    }
+
+    /**
+     * This method waits for the result of a data collection run and passes it on, unless out is done with its method,
+     * in which case the run is cancelled.  If the method is not implemented a note is printed to the user the first
+     * time instead.
+     *
+     * @param run     The run
+     * @param out     Results are passed to
+     * @param skipped Methods which are not implemented, updated
+     * @throws CustomException Indicates program error
+     * @throws IOException     If the result cannot be written
+     */
+    private static void writeResult(PendingRun run, ResultSink out, boolean[] skipped)
+            throws CustomException, IOException {
+        int test = run.method;
+        if (out.isDone(test)) {
+            run.result.cancel(true);
+            return;
+        }
+        try {
+            out.write(test, run.result.get());
+            out.placed(test, run.placed);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UnsupportedOperationException) {
+                if (!skipped[test]) {
+                    System.out.println("NOTE: Test " + test + " not run as not yet implemented");
+                    skipped[test] = true;
                 }
+            } else if (e.getCause() instanceof CustomException) {
+                throw (CustomException) e.getCause();
+            } else {
+                throw new CustomException("ERROR: Run of test " + test + " failed: " + e.getCause());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("ERROR: Data collection interrupted");
         }
-        // Mark the tasks according to the best found locations
-        for (int k = 0; k < tasks.size(); k++) {
-            tasks.get(k).mark(best_locations[k]);
+    } // writeResult
+
+    /**
+     * This method makes a single data collection run of a task offloading method on new tasks.
+     *
+     * @param p        Constants of the architecture and tasks
+     * @param test     The associated numerical index of the task offloading method
+     * @param seed     Random number seed of the run
+     * @param numTasks Number of tasks to create
+     * @return Cost of processing the tasks
+     * @throws CustomException Indicates program error
+     */
+    static double singleRun(Parameters p, int test, long seed, int numTasks) throws CustomException {
+        return singleRun(p, test, seed, false, new TaskBatch(numTasks), null);
+    } // singleRun
+
+    /**
+     * This method makes a single data collection run of a task offloading method.  The batch is placed and resolved
+     * as it is, column by column, without a Task object per task; its cost is summed in task order exactly as
+     * calcCost sums that of the tasks, so the results are those of marking and resolving Task objects.
+     *
+     * @param p          Constants of the architecture and tasks
+     * @param test       The associated numerical index of the task offloading method
+     * @param seed       Random number seed of the run
+     * @param antithetic If the tasks are antithetic to those made with the same seed otherwise
+     * @param taskSet    Tasks of the run; filled with new tasks if empty
+     * @param placed     Filled with the number of tasks placed at each location, by location code; or null
+     * @return Cost of processing the tasks
+     * @throws CustomException Indicates program error
+     */
+    private static double singleRun(Parameters p, int test, long seed, boolean antithetic, TaskBatch taskSet,
+                                    int[] placed) throws CustomException {
+        Main run = new Main(p, seed, antithetic); // Tasks and random numbers of this run only
+        LocalUser local = buildTopology(p);     // Architecture of this run only
+        run.fillBatch(taskSet);                 // Create the tasks
+        int[] locations = PolicyRegistry.get(test).place(taskSet, local, p, run.rand);
+        taskSet.place(locations);               // Mark for proper execution
+        local.resolveBatch(taskSet);            // Resolve tasks
+        for (int loc : locations) {
+            if (placed != null) {
+                placed[loc]++;
+            }
+            if (Metrics.ENABLED) {
+                Metrics.count(loc == 0 ? Metrics.PLACED_L : loc == 1 ? Metrics.PLACED_AP : Metrics.PLACED_RC);
+            }
         }
-    } // markForLAC100
+        return taskSet.cost(p.get(Parameters.RHO));
+    } // singleRun
 
     /**
-     * This method marks the tasks for random mapping using the Random Mapping 100 method described in the paper.
+     * This method resets all the calculated information regarding the tasks which are to be executed.  Resetting is
+     * necessary in order to use the same tasks using various offloading heuristics in order to compare performance.
      */
-    private void markForRM100() throws CustomException {
-        // Randomly assign locations for each task as described in the paper.
+    private void resetTasks() {
         for (Task t : tasks) {
-            if (Math.random() < 0.5) {
-                t.markL();
-            } else if (Math.random() < 0.5) {
-                t.markAP();
-            } else {
-                t.markRC();
-            }
+            t.reset();
+        }
+    } // resetTasks
+
+    /**
+     * This method prints the results from the simulation to the user.  This includes the time and energy of each
+     * task, the total time and energy of all the tasks as well as the cost, as defined within the paper, and if the
+     * tasks have deadlines, how many are missed when each location serves its tasks one after another in task order.
+     *
+     * @throws CustomException Indicates program error
+     */
+    private void displayAllTaskInfo() throws CustomException {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        int taskNum = 0;                                    // To keep track of number of tasks processed
+        double tE = 0.0;                                    // Total energy
+        double tT = 0.0;                                    // Total time
+        for (Task t : tasks) {
+            System.out.println("Task " + taskNum++ + ":\tTotal Energy: " + f.format(t.totalEnergy()) + "\tTotal "
+                    + "Time: " + f.format(t.totalTime()));
+            tE += t.totalEnergy();
+            tT += t.totalTime();
+        }
+        System.out.println("ALL:\tTotal Energy: " + f.format(tE) + "\tTotal Time: " + f.format(tT) + "\tTotal: "
+                + f.format(tE + tT));
+        System.out.println("COST: " + f.format(calcCost(tasks, params.get(Parameters.RHO))) + " Jules");
+        int n = tasks.size();
+        int[] locations = new int[n];
+        double[] time = new double[n];
+        double[] deadline = new double[n];
+        double[] weight = new double[n];
+        double totalWeight = 0.0;
+        boolean deadlines = false;                          // If any task has a deadline
+        for (int k = 0; k < n; k++) {
+            Task t = tasks.get(k);
+            locations[k] = t.getLocation();
+            time[k] = t.totalTime();
+            deadline[k] = t.getDeadline();
+            weight[k] = t.getWeight();
+            totalWeight += weight[k];
+            deadlines |= !Double.isInfinite(deadline[k]);
+        }
+        if (deadlines) { // Each location serving its tasks one after another, as the cost has them
+            double[] completion = new double[n];
+            int missed = DeadlinePlacer.inTaskOrder(locations, time, deadline, completion);
+            System.out.println("DEADLINES MISSED: " + missed + " of " + n + " (" + f.format(100.0 * missed / n)
+                    + "%)\tWeighted: " + f.format(100.0 * DeadlinePlacer.missedWeight(completion, deadline, weight)
+                    / totalWeight) + "%");
+        }
+    } // displayAllTaskInfo
+
+    /**
+     * This method asks the user for their preferred option for running the simulation.  Upon running the program
+     * the options will appear within the terminal and the user's response will be returned to facilitate
+     * desired execution.
+     *
+     * @return User's choice for execution
+     */
+    private char promptUser() {
+        Scanner s = new Scanner(System.in);
+        System.out.println("Please choose a testing mode:");
+        System.out.println("\t[0] Custom:\t\t\tConsecutively runs every method below. (DEFAULT).");
+        for (int i = 0; i < PolicyRegistry.count(); i++) {
+            OffloadingPolicy policy = PolicyRegistry.get(i);
+            String option = "\t[" + policy.key() + "] " + policy.name() + ":";
+            // Pad to the column of the descriptions, with tabs four columns apart
+            int column = 4 + option.length() - 1;
+            do {
+                option += "\t";
+                column = (column / 4 + 1) * 4;
+            } while (column < 24);
+            System.out.println(option + policy.description());
+        }
+        System.out.println("\t[9] Queueing:\t\tLAC 100 with tasks arriving over time and queueing for resources.");
+        System.out.println("\t[d] DP:\t\t\t\tLAC 100 by dynamic programming, against every placement.");
+        System.out.println("\t[h] Heuristics:\t\tAnnealing and genetic LAC 100 on many tasks, cost over time.");
+        System.out.println("\t[v] Vector:\t\t\tPlacements scored by vector against scalar, bit for bit.");
+        System.out.println("\t[t] Trace:\t\t\tTasks of a recorded trace placed in batches by LAC 100.");
+        System.out.println("\t[p] Pareto:\t\t\tFront of energy and makespan, looked up for any rho or deadline.");
+        System.out.println("\t[l] Deadlines:\t\tLeast energy meeting deadlines, against every placement and more.");
+        System.out.println("\t[s] Sweep:\t\t\tEvery method at each point of a grid of parameters.");
+        System.out.println("\t[c] Statistics:\t\tStatistics kept by each thread and merged, against one at a time.");
+        System.out.println("\t[m] Multi-user:\t\tMany users sharing access points and the remote cloud, queueing.");
+        return s.next().charAt(0);
+    } // promptUser
+
+    /**
+     * This method marks the tasks where a task offloading method places them.
+     *
+     * @param policy The task offloading method
+     * @param local  the local user
+     * @throws CustomException Indicates program error
+     */
+    private void mark(OffloadingPolicy policy, LocalUser local) throws CustomException {
+        int[] locations = policy.place(new TaskBatch(tasks), local, params, rand);
+        for (int k = 0; k < tasks.size(); k++) {
+            tasks.get(k).mark(locations[k]);
         }
-    } // markForRM100
-}
\ No newline at end of file
+    } // mark
+}
@@ -0,0 +1,487 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static java.lang.Math.max;
+
+/**
+ * This class finds a placement of low cost, as defined within the paper, for sets of tasks too large to search
+ * exhaustively, by one of two metaheuristics:
+ * ANNEALING - Simulated annealing.  Several chains each repeatedly move a single task to another location, always
+ * keeping moves which lower the cost and keeping moves which raise it with a probability which falls as the chain
+ * cools.  Each time a chain has cooled any single task is moved which lowers the cost, and the chain is reheated
+ * from the best placement it has found.
+ * GENETIC   - A genetic algorithm.  Each generation keeps the best placements found and fills the rest of the
+ * population with children of placements chosen by tournament, mixing the locations of their parents, then moving a
+ * few tasks at random and finally moving any single task which lowers the cost until none does.
+ * Both start from the placement branch-and-bound finds before branching.  The cost of moving a single task is found
+ * from the total energy and per-location delays of the placement and the task's difference alone, so it takes the
+ * same time however many tasks there are.  The chains, or the children of a generation, are made in parallel across
+ * the common fork/join pool, each with its own random number generator split from the seed.  The chains are
+ * independent of each other and the best placement of each is only compared with the others once every chain is
+ * done, in the order of the chains; the children of a generation only depend on the generation before.  The search
+ * stops when a number of rounds, coolings of a chain or generations, have been made, when several rounds pass without
+ * a better placement, or when the time budget runs out, whichever is first.  Unless it is stopped by the time budget,
+ * the result depends only on the seed and not on the number of threads or the order they finish in; so data
+ * collection limits the rounds and gives no time budget.  Every time a better placement is found its cost and the
+ * time it was found are added to a trace, so the cost reached can be traded against the time taken.
+ */
+class Metaheuristic {
+
+    static final int ANNEALING = 0;
+    static final int GENETIC = 1;
+
+    private static final int CHAINS = 8;                // Annealing chains made in parallel
+    private static final int MOVES_PER_TASK = 200;      // Moves per task in each cooling of a chain
+    private static final double COOLING = 1e-4;         // Temperature at the end of a cooling, relative to the start
+    private static final int POPULATION = 64;           // Placements in each generation
+    private static final int ELITES = 2;                // Best placements kept unchanged into the next generation
+    private static final int PATIENCE = 20;             // Generations without a better placement before stopping
+    private static final int ANNEALING_PATIENCE = 3;    // Coolings of a chain without a better placement, likewise
+    private static final int RESYNC_INTERVAL = 1 << 12; // Moves between recomputing the sums to limit rounding drift
+    private static final int CLOCK_INTERVAL = 1 << 10;  // Moves between checking the time budget
+
+    private CostModel model;            // Energy and time of each task at each location
+    private int numTasks;               // Number of tasks to place
+    private double rho;                 // Weight of the delay within the cost
+    private double[][] energy;          // Jules; energy[location][task]
+    private double[][] time;            // Seconds; time[location][task]
+    private int method;                 // ANNEALING or GENETIC
+    private long seed;                  // Random number seed
+    private long budget;                // Nanoseconds the search may take; 0 for no limit
+    private int rounds;                 // Coolings of each chain or generations the search may make; 0 for no limit
+
+    // Search state
+    private int[] allowed;              // Locations a task may be processed at
+    private long start;                 // Time the search started
+    private int[] best;                 // Best placement found
+    private double bestCost;            // Cost of the best placement found
+    private ArrayList<double[]> trace;  // Milliseconds since the start and cost, of each better placement found
+    private double traceCost;           // Cost of the last placement added to the trace
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model.
+     *
+     * @param model  Cost model of the tasks to be placed
+     * @param method ANNEALING or GENETIC
+     * @param seed   Random number seed
+     * @param budget Milliseconds the search may take; 0 for no limit
+     * @param rounds Coolings of each annealing chain or generations the search may make; 0 for no limit
+     */
+    Metaheuristic(CostModel model, int method, long seed, long budget, int rounds) {
+        this.model = model;
+        this.method = method;
+        this.seed = seed;
+        this.budget = budget * 1000000;
+        this.rounds = rounds;
+        numTasks = model.size();
+        rho = model.getRho();
+        energy = new double[CostModel.LOCATIONS][];
+        time = new double[CostModel.LOCATIONS][];
+        for (int loc = 0; loc < CostModel.LOCATIONS; loc++) {
+            energy[loc] = model.energyAt(loc);
+            time[loc] = model.timeAt(loc);
+        }
+    } // Constructor
+
+    /**
+     * This method finds a placement of low cost where each task is processed at one of the allowed locations.
+     *
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Location of each task
+     */
+    int[] search(int[] allowed) {
+        this.allowed = allowed;
+        start = System.nanoTime();
+        trace = new ArrayList<>();
+        BranchAndBound first = new BranchAndBound(model);
+        first.setNodeLimit(0);
+        best = first.solve(allowed);
+        bestCost = model.cost(best);
+        traceCost = Double.MAX_VALUE;
+        record(bestCost);
+        if (allowed.length > 1 && numTasks > 0) {
+            if (method == ANNEALING) {
+                anneal();
+            } else {
+                evolve();
+            }
+        }
+        bestCost = model.cost(best); // Exactly, without any rounding from the moves
+        if (Metrics.ENABLED) {
+            Metrics.record(Metrics.META_SEARCH, System.nanoTime() - start);
+        }
+        return best;
+    } // search
+
+    /**
+     * This method runs the annealing chains in parallel, each from the best placement found so far, then keeps the
+     * best placement of any chain, the first chain's of those of equal cost.
+     */
+    private void anneal() {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] rands = new SplittableRandom[CHAINS];
+        int[][] chainBest = new int[CHAINS][];  // Best placement of each chain
+        for (int c = 0; c < CHAINS; c++) {
+            rands[c] = root.split();
+            chainBest[c] = best.clone();
+        }
+        double[] chainCost = new double[CHAINS]; // Cost of the best placement of each chain
+        IntStream.range(0, CHAINS).parallel().forEach(c -> chainCost[c] = chain(chainBest[c], rands[c]));
+        for (int c = 0; c < CHAINS; c++) {
+            if (chainCost[c] < bestCost) {
+                best = chainBest[c];
+                bestCost = chainCost[c];
+            }
+        }
+    } // anneal
+
+    /**
+     * This method runs a single annealing chain until it has made its rounds, is out of time or has stopped finding
+     * better placements.
+     *
+     * @param chainBest Placement to start from; changed to the best placement the chain finds
+     * @param rand      Random number generator of the chain
+     * @return Cost of the best placement the chain finds
+     */
+    private double chain(int[] chainBest, SplittableRandom rand) {
+        State s = new State(chainBest.clone());
+        double chainBestCost = s.cost();
+        long moves = (long) MOVES_PER_TASK * numTasks;
+        double factor = Math.pow(COOLING, 1.0 / moves); // Temperature is multiplied by this after each move
+        int waiting = 0;                                // Coolings without a better placement
+
+        // Start at the mean rise in cost of a random move, so about a third of rises are kept at first
+        double rise = 0.0;
+        int rises = 0;
+        for (int i = 0; i < 100; i++) {
+            int k = rand.nextInt(numTasks);
+            double d = s.costOfMove(k, other(s.locations[k], rand)) - s.cost();
+            if (d > 0) {
+                rise += d;
+                rises++;
+            }
+        }
+        double startTemperature = rises > 0 ? rise / rises : 1e-9 * chainBestCost;
+
+        for (int round = 0; (rounds == 0 || round < rounds) && waiting < ANNEALING_PATIENCE && !outOfTime();
+                round++) {
+            boolean improved = false;
+            double temperature = startTemperature;
+            double cost = s.cost();
+            for (long m = 1; m <= moves; m++) {
+                int k = rand.nextInt(numTasks);
+                int to = other(s.locations[k], rand);
+                double c = s.costOfMove(k, to);
+                if (c <= cost || rand.nextDouble() < Math.exp((cost - c) / temperature)) {
+                    s.move(k, to);
+                    cost = c;
+                    if (cost < chainBestCost) {
+                        chainBestCost = cost;
+                        System.arraycopy(s.locations, 0, chainBest, 0, numTasks);
+                        improved = true;
+                    }
+                }
+                temperature *= factor;
+                if (m % RESYNC_INTERVAL == 0) {
+                    s.resync();
+                    cost = s.cost();
+                }
+                if (m % CLOCK_INTERVAL == 0 && outOfTime()) {
+                    break;
+                }
+            }
+            cost = descend(s);
+            if (cost < chainBestCost) {
+                chainBestCost = cost;
+                System.arraycopy(s.locations, 0, chainBest, 0, numTasks);
+                improved = true;
+            }
+            if (improved) {
+                record(chainBestCost);
+                waiting = 0;
+            } else {
+                waiting++;
+            }
+            s = new State(chainBest.clone()); // Reheat from the best placement of the chain
+        }
+        return chainBestCost;
+    } // chain
+
+    /**
+     * This method evolves the population, one generation at a time, until it has made its rounds, is out of time or has
+     * stopped finding better placements.
+     */
+    private void evolve() {
+        SplittableRandom root = new SplittableRandom(seed);
+        int[][] population = new int[POPULATION][];
+        double[] costs = new double[POPULATION];
+        int waiting = 0;    // Generations without a better placement
+
+        population[0] = best.clone();
+        for (int i = 1; i < POPULATION; i++) {
+            population[i] = new int[numTasks];
+            for (int k = 0; k < numTasks; k++) {
+                population[i][k] = allowed[root.nextInt(allowed.length)];
+            }
+        }
+        // Score the first generation together, task by task
+        int[] codes = new int[numTasks * POPULATION];
+        for (int i = 0; i < POPULATION; i++) {
+            for (int k = 0; k < numTasks; k++) {
+                codes[k * POPULATION + i] = population[i][k];
+            }
+        }
+        PlacementScorer.of(model).score(codes, POPULATION, POPULATION, costs);
+        for (int round = 0; (rounds == 0 || round < rounds) && waiting < PATIENCE && !outOfTime(); round++) {
+            // Keep the best placements; a few, so sorting is not needed
+            int[][] next = new int[POPULATION][];
+            double[] nextCosts = new double[POPULATION];
+            boolean[] kept = new boolean[POPULATION];
+            for (int e = 0; e < ELITES; e++) {
+                int fittest = -1;
+                for (int i = 0; i < POPULATION; i++) {
+                    if (!kept[i] && (fittest < 0 || costs[i] < costs[fittest])) {
+                        fittest = i;
+                    }
+                }
+                kept[fittest] = true;
+                next[e] = population[fittest];
+                nextCosts[e] = costs[fittest];
+            }
+            // Make and score the children in parallel
+            SplittableRandom[] rands = new SplittableRandom[POPULATION];
+            for (int i = ELITES; i < POPULATION; i++) {
+                rands[i] = root.split();
+            }
+            int[][] parents = population;
+            double[] parentCosts = costs;
+            IntStream.range(ELITES, POPULATION).parallel().forEach(i -> {
+                State child = breed(parents, parentCosts, rands[i]);
+                next[i] = child.locations;
+                nextCosts[i] = child.cost();
+            });
+            population = next;
+            costs = nextCosts;
+            int fittest = 0;
+            for (int i = 1; i < POPULATION; i++) {
+                if (costs[i] < costs[fittest]) {
+                    fittest = i;
+                }
+            }
+            if (offer(population[fittest], costs[fittest])) {
+                waiting = 0;
+            } else {
+                waiting++;
+            }
+        }
+    } // evolve
+
+    /**
+     * This method makes a child of two placements chosen by tournament: each task takes the location it has in one
+     * parent or the other at random, a task is then moved at random with probability 1 / numTasks each, and finally
+     * single tasks are moved while that lowers the cost.
+     *
+     * @param parents     The population
+     * @param parentCosts Cost of each placement of the population
+     * @param rand        Random number generator of the child
+     * @return The child
+     */
+    private State breed(int[][] parents, double[] parentCosts, SplittableRandom rand) {
+        int[] a = parents[tournament(parentCosts, rand)];
+        int[] b = parents[tournament(parentCosts, rand)];
+        int[] locations = new int[numTasks];
+        for (int k = 0; k < numTasks; k++) {
+            locations[k] = rand.nextBoolean() ? a[k] : b[k];
+        }
+        State child = new State(locations);
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.META_CANDIDATES);
+        }
+        for (int k = 0; k < numTasks; k++) {
+            if (rand.nextInt(numTasks) == 0) {
+                child.move(k, other(locations[k], rand));
+            }
+        }
+        descend(child);
+        return child;
+    } // breed
+
+    /**
+     * This method repeatedly moves single tasks to a location which lowers the cost until no move helps.
+     *
+     * @param s Placement to improve; changed in place
+     * @return Cost of the improved placement
+     */
+    private double descend(State s) {
+        s.resync();
+        double cost = s.cost();
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (int k = 0; k < numTasks; k++) {
+                for (int to : allowed) {
+                    double c = s.costOfMove(k, to);
+                    if (c < cost - 1e-12 * cost) { // Clearly better, so rounding cannot make moves cycle
+                        s.move(k, to);
+                        cost = c;
+                        moved = true;
+                    }
+                }
+            }
+            s.resync();
+            cost = s.cost();
+        }
+        return cost;
+    } // descend
+
+    /**
+     * @param costs Cost of each placement of the population
+     * @param rand  Random number generator
+     * @return the better of two placements chosen at random
+     */
+    private static int tournament(double[] costs, SplittableRandom rand) {
+        int a = rand.nextInt(costs.length);
+        int b = rand.nextInt(costs.length);
+        return costs[a] <= costs[b] ? a : b;
+    } // tournament
+
+    /**
+     * @param loc  A location
+     * @param rand Random number generator
+     * @return an allowed location other than loc, chosen at random
+     */
+    private int other(int loc, SplittableRandom rand) {
+        int to = allowed[rand.nextInt(allowed.length - 1)];
+        return to == loc ? allowed[allowed.length - 1] : to;
+    } // other
+
+    /**
+     * This method keeps a placement if it is better than the best found so far, adding it to the trace.
+     *
+     * @param placement A placement
+     * @param cost      Cost of the placement
+     * @return True if the placement was better
+     */
+    private boolean offer(int[] placement, double cost) {
+        if (cost >= bestCost) {
+            return false;
+        }
+        best = placement.clone();
+        bestCost = cost;
+        record(cost);
+        return true;
+    } // offer
+
+    /**
+     * This method adds the cost of a placement just found to the trace, if it is better than any found so far by any
+     * chain.
+     *
+     * @param cost Cost of the placement
+     */
+    private synchronized void record(double cost) {
+        if (cost < traceCost) {
+            traceCost = cost;
+            trace.add(new double[]{elapsed(), cost});
+        }
+    } // record
+
+    /**
+     * @return Milliseconds since the search started
+     */
+    private double elapsed() {
+        return (System.nanoTime() - start) / 1e6;
+    } // elapsed
+
+    /**
+     * @return True if there is a time budget and it has run out
+     */
+    private boolean outOfTime() {
+        return budget > 0 && System.nanoTime() - start > budget;
+    } // outOfTime
+
+    // Getters
+    double getBestCost() {
+        return bestCost;
+    }
+
+    /**
+     * @return Milliseconds since the start and cost, of each better placement found, in the order found
+     */
+    synchronized ArrayList<double[]> getTrace() {
+        return new ArrayList<>(trace);
+    }
+
+    /**
+     * A placement together with its total energy and the total time delay of each location, so that the cost of
+     * moving a single task can be found from that task alone.
+     */
+    private class State {
+        int[] locations;                                // Location of each task
+        double tE;                                      // Total energy
+        double[] delay = new double[CostModel.LOCATIONS]; // Total time delay of each location
+
+        State(int[] locations) {
+            this.locations = locations;
+            resync();
+        } // Constructor
+
+        /**
+         * This method sums the energy and per-location delays from scratch, clearing any rounding from the moves.
+         */
+        void resync() {
+            tE = 0.0;
+            delay[0] = 0.0;
+            delay[1] = 0.0;
+            delay[2] = 0.0;
+            for (int k = 0; k < numTasks; k++) {
+                tE += energy[locations[k]][k];
+                delay[locations[k]] += time[locations[k]][k];
+            }
+        } // resync
+
+        double cost() {
+            return tE + rho * max(delay[0], max(delay[1], delay[2]));
+        } // cost
+
+        /**
+         * @param k  A task
+         * @param to Location to move the task to
+         * @return Cost of the placement with the task moved
+         */
+        double costOfMove(int k, int to) {
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.META_CANDIDATES);
+            }
+            int from = locations[k];
+            if (from == to) {
+                return cost();
+            }
+            double span = 0.0;
+            for (int loc = 0; loc < CostModel.LOCATIONS; loc++) {
+                double d = delay[loc];
+                if (loc == from) {
+                    d -= time[from][k];
+                } else if (loc == to) {
+                    d += time[to][k];
+                }
+                span = max(span, d);
+            }
+            return tE - energy[from][k] + energy[to][k] + rho * span;
+        } // costOfMove
+
+        /**
+         * This method moves a task to another location.
+         *
+         * @param k  A task
+         * @param to Location to move the task to
+         */
+        void move(int k, int to) {
+            int from = locations[k];
+            tE += energy[to][k] - energy[from][k];
+            delay[from] -= time[from][k];
+            delay[to] += time[to][k];
+            locations[k] = to;
+        } // move
+    }
+}
@@ -0,0 +1,218 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts what the simulation does and how long it takes: the tasks placed and computed at each location,
+ * the placements each search evaluates, and the time taken to resolve tasks and to search.  Metrics are only kept
+ * when the program is run with "java -Dmetrics=true Main"; ENABLED is then a constant, so when they are not kept the
+ * checks of it are removed by the JIT compiler and cost nothing.  Every call to record a metric should be made within
+ * a check of ENABLED, so that not even the time is read when they are not kept.
+ * <p>
+ * Counters are LongAdders, which spread updates from several threads over separate cells.  Times are kept in
+ * histograms of nanoseconds whose buckets double in width every SUB_BUCKETS buckets, so any time is held to within
+ * 1 / SUB_BUCKETS of its value in a fixed number of buckets.  At the end of a run the metrics are printed to the user
+ * and, if run with "-Dmetrics.json=file", written to the file as JSON.
+ */
+class Metrics {
+
+    static final boolean ENABLED = Boolean.getBoolean("metrics");  // Keep metrics
+    private static final String JSON_FILE = System.getProperty("metrics.json"); // File to write, or null
+
+    // Counters; those of the locations are in location order so the location may be added to the first
+    static final int PLACED_L = 0;              // Tasks marked to be processed on the Local User
+    static final int PLACED_AP = 1;             // Tasks marked to be processed on the Access Point
+    static final int PLACED_RC = 2;             // Tasks marked to be processed on the Remote Cloud
+    static final int COMPUTED_L = 3;            // Tasks computed on the Local User
+    static final int COMPUTED_AP = 4;           // Tasks computed on the Access Point
+    static final int COMPUTED_RC = 5;           // Tasks computed on the Remote Cloud
+    static final int SENT_TO_AP = 6;            // Tasks sent from the Local User to the Access Point
+    static final int SENT_TO_RC = 7;            // Tasks sent from the Access Point to the Remote Cloud
+    static final int BATCH_TASKS = 8;           // Tasks resolved as part of a batch
+    static final int BB_NODES = 9;              // Partial placements expanded by branch-and-bound
+    static final int GRAY_PLACEMENTS = 10;      // Placements evaluated in Gray code order
+    static final int DP_STATES = 11;            // Combinations of cells reached by dynamic programming
+    static final int META_CANDIDATES = 12;      // Moves and children scored by the metaheuristics
+    static final int BLOCK_PLACEMENTS = 13;     // Placements scored in blocks
+    private static final String[] COUNTERS = {"PLACED_L", "PLACED_AP", "PLACED_RC", "COMPUTED_L", "COMPUTED_AP",
+            "COMPUTED_RC", "SENT_TO_AP", "SENT_TO_RC", "BATCH_TASKS", "BB_NODES", "GRAY_PLACEMENTS", "DP_STATES",
+            "META_CANDIDATES", "BLOCK_PLACEMENTS"};
+
+    // Histograms of nanoseconds
+    static final int RESOLVE_TASKS = 0;         // LocalUser.resolveTasks
+    static final int RESOLVE_BATCH = 1;         // LocalUser.resolveBatch
+    static final int BB_SEARCH = 2;             // BranchAndBound.solve
+    static final int GRAY_SEARCH = 3;           // GrayCodeSearch.search, of a whole search or a partition
+    static final int DP_SEARCH = 4;             // DynamicProgram.solve
+    static final int META_SEARCH = 5;           // Metaheuristic.search
+    static final int BLOCK_SEARCH = 6;          // BlockSearch.search
+    private static final String[] HISTOGRAMS = {"RESOLVE_TASKS", "RESOLVE_BATCH", "BB_SEARCH", "GRAY_SEARCH",
+            "DP_SEARCH", "META_SEARCH", "BLOCK_SEARCH"};
+
+    private static final int SUB_BUCKETS = 16;          // Buckets per doubling of the time; a power of two
+    private static final int SUB_BITS = 4;              // log2(SUB_BUCKETS)
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS; // Enough for any positive long
+
+    private static final LongAdder[] counters = new LongAdder[COUNTERS.length];
+    private static final AtomicLongArray[] histograms = new AtomicLongArray[HISTOGRAMS.length];
+    private static final LongAdder[] totals = new LongAdder[HISTOGRAMS.length]; // Sum of each histogram's times
+    private static final AtomicLong[] maxima = new AtomicLong[HISTOGRAMS.length]; // Longest of each histogram's times
+
+    static {
+        // Made only when kept, as every call is within a check of ENABLED; otherwise their classes are never loaded
+        for (int c = 0; ENABLED && c < COUNTERS.length; c++) {
+            counters[c] = new LongAdder();
+        }
+        for (int h = 0; ENABLED && h < HISTOGRAMS.length; h++) {
+            histograms[h] = new AtomicLongArray(BUCKETS);
+            totals[h] = new LongAdder();
+            maxima[h] = new AtomicLong();
+        }
+    }
+
+    /**
+     * This method adds one to a counter.
+     *
+     * @param counter Index of the counter
+     */
+    static void count(int counter) {
+        counters[counter].increment();
+    } // count
+
+    /**
+     * This method adds to a counter.
+     *
+     * @param counter Index of the counter
+     * @param n       Amount to add
+     */
+    static void add(int counter, long n) {
+        counters[counter].add(n);
+    } // add
+
+    /**
+     * This method adds a time to a histogram.
+     *
+     * @param histogram Index of the histogram
+     * @param nanos     Nanoseconds
+     */
+    static void record(int histogram, long nanos) {
+        nanos = Math.max(nanos, 0);
+        histograms[histogram].incrementAndGet(bucket(nanos));
+        totals[histogram].add(nanos);
+        if (nanos > maxima[histogram].get()) {
+            maxima[histogram].accumulateAndGet(nanos, Math::max);
+        }
+    } // record
+
+    /**
+     * @param value A non-negative value
+     * @return the bucket holding the value
+     */
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // At least SUB_BITS
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    } // bucket
+
+    /**
+     * @param bucket A bucket
+     * @return the least value held by the bucket
+     */
+    private static long lowest(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    } // lowest
+
+    /**
+     * @param histogram A histogram
+     * @return Number of times held
+     */
+    private static long size(AtomicLongArray histogram) {
+        long n = 0;
+        for (int b = 0; b < histogram.length(); b++) {
+            n += histogram.get(b);
+        }
+        return n;
+    } // size
+
+    /**
+     * @param histogram A histogram
+     * @param q         Quantile, from 0 to 1
+     * @return the least value of the bucket holding the quantile, or 0 if the histogram is empty
+     */
+    private static long quantile(AtomicLongArray histogram, double q) {
+        long n = size(histogram);
+        long rank = Math.max(1, (long) Math.ceil(q * n));
+        long seen = 0;
+        for (int b = 0; b < histogram.length(); b++) {
+            seen += histogram.get(b);
+            if (seen >= rank) {
+                return lowest(b);
+            }
+        }
+        return 0;
+    } // quantile
+
+    /**
+     * This method prints every counter and, for each histogram which holds any times, the number of times and their
+     * mean, median, 90th and 99th percentiles and maximum in microseconds to the user, then writes the metrics as
+     * JSON if a file was given.
+     */
+    static void report() {
+        System.out.println("\nMETRICS:");
+        for (int c = 0; c < COUNTERS.length; c++) {
+            System.out.println(COUNTERS[c] + ":\t" + counters[c].sum());
+        }
+        for (int h = 0; h < HISTOGRAMS.length; h++) {
+            long n = size(histograms[h]);
+            if (n > 0) {
+                System.out.println(String.format(Locale.ROOT, "%s:\tCount: %d\tMean: %.3f us\tP50: %.3f us\tP90: "
+                                + "%.3f us\tP99: %.3f us\tMax: %.3f us", HISTOGRAMS[h], n,
+                        totals[h].sum() / 1e3 / n, quantile(histograms[h], 0.5) / 1e3,
+                        quantile(histograms[h], 0.9) / 1e3, quantile(histograms[h], 0.99) / 1e3,
+                        maxima[h].get() / 1e3));
+            }
+        }
+        if (JSON_FILE != null) {
+            try (Writer out = new FileWriter(JSON_FILE)) {
+                writeJson(out);
+                System.out.println("Metrics written to " + JSON_FILE);
+            } catch (IOException e) {
+                System.out.println("ERROR: Could not write metrics: " + e.getMessage());
+            }
+        }
+    } // report
+
+    /**
+     * This method writes every counter and histogram as JSON; the histograms in nanoseconds.
+     *
+     * @param out Writer to write to
+     * @throws IOException If the metrics cannot be written
+     */
+    static void writeJson(Writer out) throws IOException {
+        out.write("{\n  \"counters\": {\n");
+        for (int c = 0; c < COUNTERS.length; c++) {
+            out.write("    \"" + COUNTERS[c] + "\": " + counters[c].sum() + (c < COUNTERS.length - 1 ? ",\n" : "\n"));
+        }
+        out.write("  },\n  \"histograms\": {\n");
+        for (int h = 0; h < HISTOGRAMS.length; h++) {
+            long n = size(histograms[h]);
+            out.write(String.format(Locale.ROOT, "    \"%s\": {\"count\": %d, \"meanNs\": %.1f, \"p50Ns\": %d, "
+                            + "\"p90Ns\": %d, \"p99Ns\": %d, \"maxNs\": %d}%s\n", HISTOGRAMS[h], n,
+                    n == 0 ? 0.0 : (double) totals[h].sum() / n, quantile(histograms[h], 0.5),
+                    quantile(histograms[h], 0.9), quantile(histograms[h], 0.99), maxima[h].get(),
+                    h < HISTOGRAMS.length - 1 ? "," : ""));
+        }
+        out.write("  }\n}\n");
+    } // writeJson
+}
@@ -0,0 +1,158 @@
+import java.text.DecimalFormat;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * This class simulates many local users sharing a smaller number of access points, which in turn share a single
+ * remote cloud.  Every user has its own batch of tasks and places them on its own, then the tasks of all the users
+ * arrive over time and contend for the CPUs and transmission links within one event simulator.  Each user has its
+ * own CPU and link to its access point, while the CPU and backhaul of an access point are shared by all its users and
+ * the CPU of the remote cloud is shared by everyone.
+ */
+class MultiUserSimulation {
+
+    private LocalUser[] users;          // The local users
+    private int[] accessPointOf;        // Access point each user is attached to
+    private int numAccessPoints;        // Number of access points
+    private TaskBatch[] batches;        // Tasks of each user
+    private double rho;                 // Weight of the delay within the cost
+
+    // Results
+    private EventSimulator simulator;   // Simulator of the last run
+    private int[] owner;                // User of each task within the simulator
+    private double[] staticCost;        // Cost, as defined within the paper, of each user's placement
+
+    /**
+     * This constructor creates a simulation of the given users and their tasks.
+     *
+     * @param users           The local users
+     * @param accessPointOf   Access point each user is attached to, from 0 to numAccessPoints - 1
+     * @param numAccessPoints Number of access points
+     * @param batches         Tasks of each user
+     * @param rho             Weight of the delay within the cost
+     */
+    MultiUserSimulation(LocalUser[] users, int[] accessPointOf, int numAccessPoints, TaskBatch[] batches,
+                        double rho) {
+        this.users = users;
+        this.accessPointOf = accessPointOf;
+        this.numAccessPoints = numAccessPoints;
+        this.batches = batches;
+        this.rho = rho;
+    } // Constructor
+
+    /**
+     * This method places the tasks of each user by the branch-and-bound search of LAC 100, stopped after the given
+     * number of steps per user so that very many users can be placed quickly.  Users are placed in parallel.
+     *
+     * @param nodeLimit Partial placements each user's search may expand
+     */
+    void place(long nodeLimit) {
+        staticCost = new double[users.length];
+        // Users place their own tasks, so they are placed in parallel
+        IntStream.range(0, users.length).parallel().forEach(u -> {
+            CostModel model = new CostModel(batches[u], users[u], rho);
+            BranchAndBound search = new BranchAndBound(model);
+            search.setNodeLimit(nodeLimit);
+            batches[u].place(search.solve(new int[]{0, 1, 2}));
+            users[u].resolveBatch(batches[u]);
+            staticCost[u] = batches[u].cost(rho);
+        });
+    } // place
+
+    /**
+     * This method simulates the placed tasks of every user arriving over time and contending for the servers.  Each
+     * user's tasks arrive in order at the given average rate; the users' arrivals are interleaved at random.
+     *
+     * @param arrivalRate Tasks per second arriving at each user, on average
+     * @param discipline  EventSimulator.FIFO or EventSimulator.PROCESSOR_SHARING
+     * @param rand        For random number generation
+     * @throws CustomException Indicates program error
+     */
+    void run(double arrivalRate, int discipline, SplittableRandom rand) throws CustomException {
+        int total = 0;                  // Number of tasks of all users
+        int[] next;                     // Next task of each user
+        double time = 0.0;              // Arrival time of the next task
+        int u;
+        int k;
+
+        for (TaskBatch b : batches) {
+            total += b.size();
+        }
+        // Shuffle the users' tasks together, keeping each user's tasks in order
+        owner = new int[total];
+        for (u = 0, k = 0; u < users.length; u++) {
+            for (int i = 0; i < batches[u].size(); i++) {
+                owner[k++] = u;
+            }
+        }
+        for (int i = total - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int swap = owner[i];
+            owner[i] = owner[j];
+            owner[j] = swap;
+        }
+        simulator = new EventSimulator(discipline);
+        next = new int[users.length];
+        for (int i = 0; i < total; i++) {
+            u = owner[i];
+            k = next[u]++;
+            TaskBatch b = batches[u];
+            users[u].submit(simulator, time, b.inputData()[k], b.outputData()[k], b.cyclesPerBit()[k],
+                    b.getLocation(k));
+            // Arrivals of all users together are a Poisson process with the total rate
+            time -= Math.log(1.0 - rand.nextDouble()) / (arrivalRate * users.length);
+        }
+        simulator.run();
+    } // run
+
+    /**
+     * This method prints the aggregate results of the last run to the user: the cost, as defined within the paper, of
+     * the users' placements, the same cost with the response time of each task under contention in place of its
+     * delay, the response times of the tasks, and the number of tasks placed at each location, overall and per
+     * access point.
+     */
+    void report() {
+        DecimalFormat f = new DecimalFormat("##.0000");  // To properly format numerical output
+        double[][] delay = new double[users.length][CostModel.LOCATIONS]; // Total response time, per location
+        double[] response = new double[numAccessPoints]; // Total response time of the tasks of each access point
+        int[][] placed = new int[numAccessPoints][CostModel.LOCATIONS]; // Tasks placed, per access point
+        double totalResponse = 0.0;
+        double maxResponse = 0.0;
+        double energy = 0.0;
+        double cost = 0.0;
+        double contended = 0.0;
+        int[] next = new int[users.length];
+
+        for (int i = 0; i < simulator.getNumTasks(); i++) {
+            int u = owner[i];
+            int k = next[u]++;
+            double r = simulator.getCompletion(i) - simulator.getArrival(i);
+            delay[u][batches[u].getLocation(k)] += r;
+            response[accessPointOf[u]] += r;
+            placed[accessPointOf[u]][batches[u].getLocation(k)]++;
+            totalResponse += r;
+            maxResponse = Math.max(maxResponse, r);
+        }
+        for (int u = 0; u < users.length; u++) {
+            double e = 0.0;
+            for (int k = 0; k < batches[u].size(); k++) {
+                e += batches[u].getEnergy(k);
+            }
+            energy += e;
+            cost += staticCost[u];
+            contended += e + rho * Math.max(delay[u][0], Math.max(delay[u][1], delay[u][2]));
+        }
+        System.out.println("USERS: " + users.length + "\tACCESS POINTS: " + numAccessPoints + "\tTASKS: "
+                + simulator.getNumTasks() + "\tEVENTS: " + simulator.getProcessed());
+        System.out.println("ALL:\tTotal Energy: " + f.format(energy) + "\tMean Response: "
+                + f.format(totalResponse / simulator.getNumTasks()) + "\tMax Response: " + f.format(maxResponse)
+                + "\tMakespan: " + f.format(simulator.getMakespan()));
+        System.out.println("MEAN COST PER USER: " + f.format(cost / users.length) + " Jules\tWITH CONTENTION: "
+                + f.format(contended / users.length) + " Jules");
+        for (int a = 0; a < numAccessPoints; a++) {
+            int tasks = placed[a][0] + placed[a][1] + placed[a][2];
+            System.out.println("AP " + a + ":\tL: " + placed[a][0] + "\tAP: " + placed[a][1] + "\tRC: " + placed[a][2]
+                    + "\tMean Response: " + f.format(tasks == 0 ? 0.0 : response[a] / tasks));
+        }
+    } // report
+}
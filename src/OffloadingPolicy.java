@@ -0,0 +1,43 @@
+import java.util.SplittableRandom;
+
+/**
+ * This interface is implemented by every task offloading method: given a batch of tasks and the architecture they are
+ * processed on, it decides the location of each task.  Methods are made known to the rest of the simulation through
+ * the PolicyRegistry, so a new method can be compared against those of the paper without changing Main.
+ */
+interface OffloadingPolicy {
+
+    /**
+     * @return Name of the method, as printed to the user
+     */
+    String name();
+
+    /**
+     * @return One line description of the method, as printed within the menu
+     */
+    String description();
+
+    /**
+     * @return Key which chooses the method from the menu
+     */
+    char key();
+
+    /**
+     * @return True if place may be called from several threads at once, so runs of the method can be made
+     * concurrently
+     */
+    boolean isThreadSafe();
+
+    /**
+     * This method decides where each task of a batch is processed.  The batch may be resolved by the method, so its
+     * placement and results are overwritten.
+     *
+     * @param batch Tasks to place
+     * @param local The local user the tasks start at
+     * @param p     Constants of the architecture and tasks
+     * @param rand  Random number generator of the run, for methods which make random choices
+     * @return Location of each task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @throws CustomException Indicates program error
+     */
+    int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand) throws CustomException;
+}
@@ -0,0 +1,184 @@
+import java.util.Arrays;
+
+import static java.lang.Math.max;
+
+/**
+ * This class decides where each task is processed as it arrives at the local user, rather than placing a whole list
+ * of tasks at once.  It keeps the total energy and the total time delay of each location of the tasks placed so far,
+ * so each decision only needs the energy and time of the arriving task at each location.  The arriving task is
+ * placed where it least increases the cost, as defined within the paper, either:
+ * 1 - greedily, the cost of the tasks placed so far and the arriving task only, or
+ * 2 - with a lookahead of some number of further tasks, each assumed to be the average of the tasks seen so far and
+ * spread over the locations in the best way.  This keeps the arriving task off a location which looks cheap now but
+ * which the tasks to come would need to keep the delays even.  If the number of tasks to arrive is known, no more
+ * further tasks are considered than are left to arrive.
+ */
+class OnlinePlacer {
+
+    private LocalUser local;            // Resolves the arriving task
+    private double rho;                 // Weight of the delay within the cost
+    private int[] allowed;              // Locations a task may be processed at
+    private int lookahead;              // Further tasks to consider; 0 for greedy
+    private long horizon;               // Tasks to arrive in all; 0 if not known
+
+    private TaskBatch probe;            // The arriving task, once at each allowed location
+    private double energy;              // Total energy of the tasks placed so far
+    private double[] delay;             // Total time delay of each location of the tasks placed so far
+    private double[] meanEnergy;        // Mean energy of the tasks seen so far at each location
+    private double[] meanTime;          // Mean time of the tasks seen so far at each location
+    private long placed;                // Number of tasks placed so far
+    private int[] count;                // Further tasks at each allowed location, for the lookahead
+
+    /**
+     * This constructor creates a placer which has not placed any tasks.
+     *
+     * @param local     The local user the tasks arrive at
+     * @param rho       Weight of the delay within the cost
+     * @param allowed   Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @param lookahead Further tasks to consider when placing each task; 0 to place greedily
+     * @param horizon   Tasks to arrive in all; 0 if not known
+     */
+    OnlinePlacer(LocalUser local, double rho, int[] allowed, int lookahead, long horizon) {
+        this.local = local;
+        this.rho = rho;
+        this.allowed = allowed;
+        this.lookahead = lookahead;
+        this.horizon = horizon;
+        probe = new TaskBatch(allowed.length);
+        delay = new double[CostModel.LOCATIONS];
+        meanEnergy = new double[CostModel.LOCATIONS];
+        meanTime = new double[CostModel.LOCATIONS];
+        count = new int[allowed.length];
+    } // Constructor
+
+    /**
+     * This method forgets every task placed so far.
+     */
+    void reset() {
+        energy = 0.0;
+        placed = 0;
+        for (int loc = 0; loc < CostModel.LOCATIONS; loc++) {
+            delay[loc] = 0.0;
+            meanEnergy[loc] = 0.0;
+            meanTime[loc] = 0.0;
+        }
+    } // reset
+
+    /**
+     * This method decides where an arriving task is processed and adds it to the tasks placed so far.
+     *
+     * @param t The arriving task
+     * @return Location of the task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @throws CustomException Indicates program error
+     */
+    int place(Task t) throws CustomException {
+        return place(t.getInputData(), t.getOutputData(), t.getCyclesPerBit());
+    } // place
+
+    /**
+     * This method decides where an arriving task is processed and adds it to the tasks placed so far.
+     *
+     * @param in  Input data size
+     * @param out Output data size
+     * @param cpb Cycles per bit
+     * @return Location of the task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @throws CustomException Indicates program error
+     */
+    int place(double in, double out, double cpb) throws CustomException {
+        int best = allowed[0];
+        int bestIndex = 0;
+        double bestCost = Double.MAX_VALUE;
+
+        // Energy and time of the task at each allowed location, as the architecture would resolve it
+        probe.clear();
+        for (int i = 0; i < allowed.length; i++) {
+            probe.add(in, out, cpb);
+            probe.location()[i] = (byte) allowed[i];
+        }
+        local.resolveBatch(probe);
+        placed++;
+        for (int i = 0; i < allowed.length; i++) {
+            meanEnergy[allowed[i]] += (probe.getEnergy(i) - meanEnergy[allowed[i]]) / placed;
+            meanTime[allowed[i]] += (probe.getTime(i) - meanTime[allowed[i]]) / placed;
+        }
+        int further = horizon > 0 ? (int) Math.min(lookahead, horizon - placed) : lookahead;
+        for (int i = 0; i < allowed.length; i++) {
+            int loc = allowed[i];
+            double cost;
+            delay[loc] += probe.getTime(i);
+            if (further <= 0) {
+                cost = energy + probe.getEnergy(i) + rho * max(delay[0], max(delay[1], delay[2]));
+            } else {
+                cost = energy + probe.getEnergy(i) + future(further);
+            }
+            delay[loc] -= probe.getTime(i);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = loc;
+                bestIndex = i;
+            }
+        }
+        energy += probe.getEnergy(bestIndex);
+        delay[best] += probe.getTime(bestIndex);
+        return best;
+    } // place
+
+    /**
+     * This method finds the least cost of adding some number of average tasks to the current delays, beyond the energy
+     * placed so far; that is their energy plus the weighted makespan.  Since the tasks are the same, only the number
+     * at each location matters.
+     *
+     * @param further Number of further tasks
+     * @return The least energy of the further tasks plus the weighted makespan
+     */
+    private double future(int further) {
+        double least = Double.MAX_VALUE;
+        int last = allowed.length - 1;
+        Arrays.fill(count, 0);
+        // Step through every way of splitting the tasks between the allowed locations
+        while (true) {
+            int rest = further;
+            for (int i = 0; i < last; i++) {
+                rest -= count[i];
+            }
+            if (rest >= 0) {
+                count[last] = rest;
+                double e = 0.0;
+                double span = 0.0;
+                for (int i = 0; i < allowed.length; i++) {
+                    int loc = allowed[i];
+                    e += count[i] * meanEnergy[loc];
+                    span = max(span, delay[loc] + count[i] * meanTime[loc]);
+                }
+                for (int loc = 0; loc < CostModel.LOCATIONS; loc++) { // Locations not allowed keep their delay
+                    span = max(span, delay[loc]);
+                }
+                least = Math.min(least, e + rho * span);
+            }
+            int i = 0;
+            while (i < last && ++count[i] > further) {
+                count[i++] = 0;
+            }
+            if (i == last) {
+                return least;
+            }
+        }
+    } // future
+
+    // Getters
+    double getCost() {
+        return energy + rho * max(delay[0], max(delay[1], delay[2]));
+    }
+
+    double getEnergy() {
+        return energy;
+    }
+
+    double getDelay(int loc) {
+        return delay[loc];
+    }
+
+    long getPlaced() {
+        return placed;
+    }
+}
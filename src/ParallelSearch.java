@@ -0,0 +1,119 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class performs the same exhaustive search as GrayCodeSearch across all the cores of the machine.  The
+ * placements are partitioned by the locations of the first few tasks; each partition is searched as a fork/join
+ * subtask with its own search state and the results are reduced to the placement of least cost.  Ties are broken in
+ * favour of the placement which comes first in lexicographic order, so the result does not depend on the number of
+ * threads or on the order in which the subtasks finish.
+ */
+class ParallelSearch {
+
+    private static final int PARTITIONS_PER_THREAD = 8; // Subtasks per thread, to even out the work between threads
+
+    private CostModel model;            // Energy and time of each task at each location
+    private GrayCodeSearch search;      // Searches a single partition
+    private ForkJoinPool pool;          // Threads the partitions are searched on
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model using the common fork/join pool.
+     *
+     * @param model Cost model of the tasks to be placed
+     */
+    ParallelSearch(CostModel model) {
+        this(model, ForkJoinPool.commonPool());
+    } // Constructor
+
+    /**
+     * This constructor prepares a search over the tasks of the given cost model using the given pool.
+     *
+     * @param model Cost model of the tasks to be placed
+     * @param pool  Threads to search on
+     */
+    ParallelSearch(CostModel model, ForkJoinPool pool) {
+        this.model = model;
+        this.pool = pool;
+        search = new GrayCodeSearch(model);
+    } // Constructor
+
+    /**
+     * This method finds the placement of minimum cost where each task is processed at one of the allowed locations.
+     *
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Best location of each task
+     */
+    int[] search(int[] allowed) {
+        // Fix enough of the first tasks to give every thread several partitions
+        int fixed = 0;
+        long partitions = 1;
+        while (fixed < model.size() && partitions < (long) pool.getParallelism() * PARTITIONS_PER_THREAD) {
+            partitions *= allowed.length;
+            fixed++;
+        }
+        return pool.invoke(new Partition(allowed, new int[0], fixed)).locations;
+    } // search
+
+    /**
+     * A best placement together with its cost.
+     */
+    private static class Best {
+        int[] locations;
+        double cost;
+
+        Best(int[] locations, double cost) {
+            this.locations = locations;
+            this.cost = cost;
+        } // Constructor
+
+        /**
+         * @param other Another best placement
+         * @return the better of the two placements; the lexicographically first if they cost the same
+         */
+        Best better(Best other) {
+            if (other.cost < cost || (other.cost == cost && Arrays.compare(other.locations, locations) < 0)) {
+                return other;
+            }
+            return this;
+        } // better
+    }
+
+    /**
+     * The placements sharing the locations of the first tasks.  Split further by the location of the next task until
+     * the required number of tasks are fixed, then searched in Gray code order.  Each is scored by CostModel.cost, so
+     * partitions are compared on the same sums whatever the number of tasks fixed.  Never serialized.
+     */
+    @SuppressWarnings("serial")
+    private class Partition extends RecursiveTask<Best> {
+        private int[] allowed;      // Locations a task may be processed at
+        private int[] prefix;       // Locations of the first tasks
+        private int fixed;          // Number of tasks to fix before searching
+
+        Partition(int[] allowed, int[] prefix, int fixed) {
+            this.allowed = allowed;
+            this.prefix = prefix;
+            this.fixed = fixed;
+        } // Constructor
+
+        @Override
+        protected Best compute() {
+            if (prefix.length == fixed) {
+                int[] locations = search.search(allowed, prefix);
+                return new Best(locations, model.cost(locations));
+            }
+            Partition[] parts = new Partition[allowed.length];
+            for (int i = 0; i < allowed.length; i++) {
+                int[] next = Arrays.copyOf(prefix, prefix.length + 1);
+                next[prefix.length] = allowed[i];
+                parts[i] = new Partition(allowed, next, fixed);
+            }
+            invokeAll(parts);
+            Best best = parts[0].join();
+            for (int i = 1; i < parts.length; i++) {
+                best = best.better(parts[i].join());
+            }
+            return best;
+        } // compute
+    }
+}
@@ -0,0 +1,160 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * This class runs data collection at every point of a grid of parameters and writes the results to a single table.
+ * The grid is given as a comma separated list of axes, each of the form NAME=from:to:steps where NAME is the name of
+ * a parameter and the parameter takes steps values evenly spaced from from to to; e.g.
+ * "ALPHA_BASE=1:50:50,BETA_BASE=1:50:50" is a 50 by 50 grid of alpha and beta.  Parameters not on an axis keep their
+ * base value.  Only the task offloading methods given by key are run; the table has a row for each point, holding the
+ * value of each axis then the mean and standard deviation of the results of each of these methods, in the columns
+ * "NAME mean" and "NAME sd" headed by the method's name.
+ * <p>
+ * Data collection derives the same seeds at every point, so if no axis changes the tasks which are created, the tasks
+ * of each run are created at the first point only and used again at every other point.
+ */
+class ParameterSweep {
+
+    private int[] axes;             // Index of the parameter of each axis
+    private double[][] values;      // Values the parameter of each axis takes
+    private int size;               // Number of points within the grid
+
+    /**
+     * This constructor creates a sweep over the given grid.
+     *
+     * @param grid Axes of the grid; NAME=from:to:steps,...
+     * @throws CustomException If the grid is not of the right form or names a parameter which does not exist
+     */
+    ParameterSweep(String grid) throws CustomException {
+        String[] axis = grid.split(",");
+        axes = new int[axis.length];
+        values = new double[axis.length][];
+        size = 1;
+        for (int a = 0; a < axis.length; a++) {
+            String[] nameRange = axis[a].trim().split("=");
+            String[] range = nameRange.length == 2 ? nameRange[1].split(":") : new String[0];
+            if (range.length != 3) {
+                throw new CustomException("ERROR: Sweep axis " + axis[a] + " is not of the form NAME=from:to:steps");
+            }
+            axes[a] = Parameters.indexOf(nameRange[0].trim());
+            double from;
+            double to;
+            int steps;
+            try {
+                from = Double.parseDouble(range[0]);
+                to = Double.parseDouble(range[1]);
+                steps = Integer.parseInt(range[2].trim());
+            } catch (NumberFormatException e) {
+                throw new CustomException("ERROR: Sweep axis " + axis[a] + " has a value which is not a number");
+            }
+            if (steps < 1) {
+                throw new CustomException("ERROR: Sweep axis " + axis[a] + " has fewer than one step");
+            }
+            values[a] = new double[steps];
+            for (int i = 0; i < steps; i++) {
+                values[a][i] = steps == 1 ? from : from + (to - from) * i / (steps - 1);
+            }
+            size *= steps;
+        }
+    } // Constructor
+
+    /**
+     * @return Number of points within the grid
+     */
+    int size() {
+        return size;
+    } // size
+
+    /**
+     * This method finds the parameters at a point of the grid.  Points are numbered with the last axis changing
+     * fastest.
+     *
+     * @param point Number of the point, from 0 to size() - 1
+     * @param base  Values of the parameters not on an axis
+     * @return the parameters at the point
+     */
+    Parameters point(int point, Parameters base) {
+        Parameters p = new Parameters(base);
+        for (int a = axes.length - 1; a >= 0; a--) {
+            p.set(axes[a], values[a][point % values[a].length]);
+            point /= values[a].length;
+        }
+        return p;
+    } // point
+
+    /**
+     * @return True if no axis changes the tasks which are created, so they can be used at every point
+     */
+    boolean reusesTasks() {
+        for (int a : axes) {
+            if (Parameters.affectsTasks(a)) {
+                return false;
+            }
+        }
+        return true;
+    } // reusesTasks
+
+    /**
+     * This method runs data collection of the given methods at every point of the grid and writes a row of the
+     * table for each as it finishes.  The other methods are never run, but the seeds of their runs are still drawn,
+     * so each result is the same as if every method had been run.
+     *
+     * @param base    Values of the parameters not on an axis
+     * @param runs    The number of runs per method at each point
+     * @param seed    Random number seed the seed of each run is derived from
+     * @param keys    Keys of the task offloading methods to run
+     * @param pool    Threads to make the runs on
+     * @param file    File to write the table to
+     * @throws CustomException If a key is of no method, or program error
+     * @throws IOException     If the table cannot be written
+     */
+    void run(Parameters base, int runs, long seed, char[] keys, ExecutorService pool, String file)
+            throws CustomException, IOException {
+        int methods = PolicyRegistry.count();
+        int[] selected = new int[keys.length];  // Index of each method run, in the order of the columns
+        boolean[] skip = new boolean[methods];  // Methods not run
+        TaskBatch[] taskSets = reusesTasks() ? new TaskBatch[methods * runs] : null; // Tasks of each run
+        Arrays.fill(skip, true);
+        for (int i = 0; i < keys.length; i++) {
+            selected[i] = PolicyRegistry.indexOf(keys[i]);
+            if (selected[i] < 0) {
+                throw new CustomException("ERROR: No task offloading method has the key " + keys[i]);
+            }
+            skip[selected[i]] = false;
+        }
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
+            for (int a : axes) {
+                out.write(Parameters.nameOf(a) + ",");
+            }
+            for (int i = 0; i < selected.length; i++) {
+                String name = PolicyRegistry.get(selected[i]).name();
+                out.write(name + " mean," + name + " sd" + (i < selected.length - 1 ? "," : "\n"));
+            }
+            for (int point = 0; point < size; point++) {
+                Parameters p = point(point, base);
+                RunStatistics summary = new RunStatistics(methods, 0, 0, null);
+                Main.dataCollection(p, runs, seed, Main.INDEPENDENT, pool, new ResultSink() {
+                    @Override
+                    public void write(int method, double result) throws IOException {
+                        summary.write(method, result);
+                    }
+
+                    @Override
+                    public boolean isDone(int method) {
+                        return skip[method];
+                    }
+                }, taskSets);
+                for (int a : axes) {
+                    out.write(p.get(a) + ",");
+                }
+                for (int i = 0; i < selected.length; i++) {
+                    out.write(summary.mean(selected[i]) + "," + summary.stdDev(selected[i])
+                            + (i < selected.length - 1 ? "," : "\n"));
+                }
+            }
+        }
+    } // run
+}
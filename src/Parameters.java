@@ -0,0 +1,149 @@
+import static java.lang.Math.pow;
+
+/**
+ * This class holds the constants of the simulation which may be varied between runs: the sizes and deadlines of the
+ * tasks, the rates of the local user, access point and remote cloud, and the constants of the cost.  Each parameter
+ * has the name of the constant it replaces within Main and may be read or set by that name, so a parameter sweep can
+ * vary any of them.  A new set of parameters holds the values used within the paper, whose tasks have no deadlines.
+ */
+class Parameters {
+
+    // Index of each parameter
+    static final int MAX_INPUT_SIZE = 0;
+    static final int MIN_INPUT_SIZE = 1;
+    static final int MAX_OUTPUT_SIZE = 2;
+    static final int MIN_OUTPUT_SIZE = 3;
+    static final int CYCLES_PER_BIT = 4;
+    static final int LOCAL_CPU_RATE = 5;
+    static final int LOCAL_TRANS_RATE = 6;
+    static final int LOCAL_COMP_ENERGY_RATE = 7;
+    static final int LOCAL_TRANS_ENERGY_RATE = 8;
+    static final int CAP_CPU_RATE = 9;
+    static final int CAP_TRANS_RATE = 10;
+    static final int RC_CPU_RATE = 11;
+    static final int ALPHA_BASE = 12;
+    static final int BETA_BASE = 13;
+    static final int RHO = 14;
+    static final int MAX_DEADLINE = 15;
+    static final int MIN_DEADLINE = 16;
+
+    // Name of each parameter, by index
+    private static final String[] NAMES = {"MAX_INPUT_SIZE", "MIN_INPUT_SIZE", "MAX_OUTPUT_SIZE", "MIN_OUTPUT_SIZE",
+            "CYCLES_PER_BIT", "LOCAL_CPU_RATE", "LOCAL_TRANS_RATE", "LOCAL_COMP_ENERGY_RATE",
+            "LOCAL_TRANS_ENERGY_RATE", "CAP_CPU_RATE", "CAP_TRANS_RATE", "RC_CPU_RATE", "ALPHA_BASE", "BETA_BASE",
+            "RHO", "MAX_DEADLINE", "MIN_DEADLINE"};
+
+    // Value of each parameter used within the paper, by index
+    private static final double[] DEFAULTS = {
+            30 * 8 * pow(10, 6),    // MAX_INPUT_SIZE; Bits; 30MB
+            10 * 8 * pow(10, 6),    // MIN_INPUT_SIZE; Bits; 10MB
+            3 * 8 * pow(10, 6),     // MAX_OUTPUT_SIZE; Bits; 3MB
+            1 * 8 * pow(10, 6),     // MIN_OUTPUT_SIZE; Bits; 1MB
+            1900.0 / 8.0,           // CYCLES_PER_BIT; Cycles per Bit; for task processing
+            500 * pow(10, 6),       // LOCAL_CPU_RATE; Cycles per second
+            72.2 * pow(10, 6),      // LOCAL_TRANS_RATE; Bits per second
+            1 / (730 * pow(10, 6)), // LOCAL_COMP_ENERGY_RATE; Jules per cycle
+            1.42 * pow(10, -7),     // LOCAL_TRANS_ENERGY_RATE; Jules per bit (up and down)
+            5 * pow(10, 9),         // CAP_CPU_RATE; Cycles per second
+            15 * pow(10, 6),        // CAP_TRANS_RATE; Bits per second
+            10 * pow(10, 9),        // RC_CPU_RATE; Cycles per second
+            2,                      // ALPHA_BASE; ALPHA is ALPHA_BASE * 10^-7
+            5,                      // BETA_BASE; BETA is BETA_BASE * 10^-7
+            1,                      // RHO; Jules per second
+            Double.POSITIVE_INFINITY, // MAX_DEADLINE; Seconds after release; infinite for tasks without deadlines
+            0                       // MIN_DEADLINE; Seconds after release; deadlines are drawn from MIN to MAX
+    };
+
+    private double[] values;            // Value of each parameter, by index
+
+    /**
+     * This constructor creates a set of parameters holding the values used within the paper.
+     */
+    Parameters() {
+        values = DEFAULTS.clone();
+    } // Constructor
+
+    /**
+     * This constructor creates a copy of a set of parameters.
+     *
+     * @param other Parameters to copy
+     */
+    Parameters(Parameters other) {
+        values = other.values.clone();
+    } // Constructor
+
+    /**
+     * @param name Name of a parameter
+     * @return Index of the parameter
+     * @throws CustomException If there is no parameter of the name
+     */
+    static int indexOf(String name) throws CustomException {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new CustomException("ERROR: No parameter named " + name);
+    } // indexOf
+
+    /**
+     * @return Number of parameters
+     */
+    static int count() {
+        return NAMES.length;
+    } // count
+
+    /**
+     * @param index Index of a parameter
+     * @return Name of the parameter
+     */
+    static String nameOf(int index) {
+        return NAMES[index];
+    } // nameOf
+
+    /**
+     * @param index Index of a parameter
+     * @return True if the parameter changes the tasks which are created, rather than how they are processed
+     */
+    static boolean affectsTasks(int index) {
+        return index <= CYCLES_PER_BIT || index == MAX_DEADLINE || index == MIN_DEADLINE;
+    } // affectsTasks
+
+    /**
+     * This method sets a parameter by name.
+     *
+     * @param name  Name of the parameter
+     * @param value New value
+     * @throws CustomException If there is no parameter of the name
+     */
+    void set(String name, double value) throws CustomException {
+        values[indexOf(name)] = value;
+    } // set
+
+    /**
+     * This method sets a parameter by index.
+     *
+     * @param index Index of the parameter
+     * @param value New value
+     */
+    void set(int index, double value) {
+        values[index] = value;
+    } // set
+
+    // Getters
+    double get(String name) throws CustomException {
+        return values[indexOf(name)];
+    }
+
+    double get(int index) {
+        return values[index];
+    }
+
+    double getAlpha() {
+        return values[ALPHA_BASE] * pow(10, -7);    // Jules per second
+    }
+
+    double getBeta() {
+        return values[BETA_BASE] * pow(10, -7);     // Jules per second
+    }
+}
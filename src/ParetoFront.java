@@ -0,0 +1,389 @@
+import java.util.Arrays;
+
+/**
+ * This class finds every placement of the tasks which is Pareto optimal in total energy and makespan, the largest
+ * total time delay of any location, so that the best placement for any weight rho of the delay, or the placement of
+ * least energy within any deadline, can be looked up without searching again.  The cost, as defined within the paper,
+ * is the energy plus rho times the makespan, so the placement of least cost for every rho is on the front.
+ * <p>
+ * The tasks are placed one at a time from the energy and time tables of the cost model, keeping only partial
+ * placements which may still be completed into a placement on the front.  A partial placement is dropped if
+ * 1 - another's energy and delay at each location are all no more than its own, as it could then never be completed
+ *     into a better placement than the other completed in the same way, or
+ * 2 - a placement already found has no more energy than it plus the least energy of the remaining tasks, and no more
+ *     makespan than its current makespan or its delay plus the least time of the remaining tasks poured into the
+ *     locations as evenly as possible, as branch-and-bound bounds it.
+ * The placements found are those made by completing each partial placement kept, either by placing every remaining
+ * task where it takes the least energy or where it adds the least to the makespan, and only those not dominated are
+ * kept.  Neither rule drops a placement which could be on the front, so the front found is exact.  At the end the
+ * complete placements and those found are reduced to their energy and makespan, and those dominated in these two are
+ * dropped, leaving the front in order of increasing makespan and decreasing energy.  The sums are accumulated in task
+ * order, exactly as CostModel.cost does, so the cost of a placement looked up is the cost the model gives it.
+ * <p>
+ * The best placement for a rho is a vertex of the lower convex hull of the front, and the vertices are best over
+ * consecutive ranges of rho, so it is found by binary search over the values of rho at which the best vertex changes.
+ * The placement of least energy within a deadline is the last within it, also found by binary search.  Both take
+ * O(log k) for a front of k placements.
+ * <p>
+ * The partial placements kept may still grow quickly with the number of tasks, so they are limited to MAX_STATES
+ * after placing any task.
+ */
+class ParetoFront {
+
+    static final int MAX_STATES = 1 << 20;          // Partial placements kept after placing any task, at most
+    private static final double SLACK = 1e-12;      // Relative; bounds are lowered by this against rounding
+
+    private CostModel model;            // Energy and time of each task at each location
+    private int numTasks;               // Number of tasks placed
+    private int[] allowed;              // Locations a task may be processed at
+    private double[] leastEnergy;       // Least energy of the tasks from k onwards
+    private double[] leastTime;         // Least time of the tasks from k onwards
+    private long states;                // Partial placements kept over all tasks
+
+    // Placements found so far and not dominated, in order of increasing makespan and decreasing energy
+    private double[] foundEnergy;       // Jules; energy of each
+    private double[] foundMakespan;     // Seconds; makespan of each
+    private int[][] found;              // Location of each task of each
+    private int foundSize;              // Number found
+
+    // The front
+    private double[] energy;            // Jules; total energy of each placement of the front
+    private double[] makespan;          // Seconds; makespan of each placement of the front
+    private int[][] placements;         // Location of each task of each placement of the front
+    private int[] hull;                 // Placements on the lower convex hull of the front, by increasing makespan
+    private double[] breaks;            // Rho above which each vertex of the hull is no better than the one before
+
+    /**
+     * This constructor finds the front of the tasks of the given cost model.  The rho of the model is not used.
+     *
+     * @param model   Cost model of the tasks to be placed
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @throws CustomException If more than MAX_STATES partial placements are kept
+     */
+    ParetoFront(CostModel model, int[] allowed) throws CustomException {
+        this.model = model;
+        this.allowed = allowed;
+        numTasks = model.size();
+        int locations = CostModel.LOCATIONS;
+        leastEnergy = new double[numTasks + 1];
+        leastTime = new double[numTasks + 1];
+        for (int k = numTasks - 1; k >= 0; k--) {
+            double e = Double.MAX_VALUE;
+            double t = Double.MAX_VALUE;
+            for (int loc : allowed) {
+                e = Math.min(e, model.getEnergy(loc, k));
+                t = Math.min(t, model.getTime(loc, k));
+            }
+            leastEnergy[k] = leastEnergy[k + 1] + e;
+            leastTime[k] = leastTime[k + 1] + t;
+        }
+        foundEnergy = new double[16];
+        foundMakespan = new double[16];
+        found = new int[16][];
+        foundSize = 0;
+        int[][] parents = new int[numTasks][];  // Partial placement each kept one was extended from, by task
+        byte[][] chosen = new byte[numTasks][]; // Location each kept partial placement placed its task at, by task
+
+        // Partial placements of the tasks placed so far; energy then the delay of each location
+        double[] e = {0.0};
+        double[][] t = new double[locations][1];
+        for (int k = 0; k < numTasks; k++) {
+            int n = e.length * allowed.length;
+            double[] ne = new double[n];
+            double[][] nt = new double[locations][n];
+            int[] parent = new int[n];
+            byte[] loc = new byte[n];
+            int c = 0;
+            for (int s = 0; s < e.length; s++) {
+                for (int l : allowed) {
+                    ne[c] = e[s] + model.getEnergy(l, k);
+                    for (int d = 0; d < locations; d++) {
+                        nt[d][c] = d == l ? t[d][s] + model.getTime(l, k) : t[d][s];
+                    }
+                    double bound = Math.max(Math.max(nt[0][c], nt[1][c]), Math.max(nt[2][c],
+                            (nt[0][c] + nt[1][c] + nt[2][c] + leastTime[k + 1]) / allowed.length));
+                    if (!dominated(ne[c] + leastEnergy[k + 1], bound)) {
+                        parent[c] = s;
+                        loc[c] = (byte) l;
+                        c++;
+                    }
+                }
+            }
+
+            // Keep those not dominated; in order of energy, each can only be dominated by one kept before it
+            Integer[] order = new Integer[c];
+            for (int i = 0; i < c; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> ne[a] != ne[b] ? Double.compare(ne[a], ne[b])
+                    : Double.compare(nt[0][a] + nt[1][a] + nt[2][a], nt[0][b] + nt[1][b] + nt[2][b]));
+            int[] kept = new int[c];
+            int size = 0;
+            for (int i : order) {
+                boolean dominated = false;
+                for (int j = 0; j < size && !dominated; j++) {
+                    int o = kept[j];
+                    dominated = nt[0][o] <= nt[0][i] && nt[1][o] <= nt[1][i] && nt[2][o] <= nt[2][i];
+                }
+                if (!dominated) {
+                    kept[size++] = i;
+                }
+            }
+            if (size > MAX_STATES) {
+                throw new CustomException("ERROR: Pareto front of more than " + MAX_STATES + " partial placements");
+            }
+            states += size;
+            e = new double[size];
+            t = new double[locations][size];
+            parents[k] = new int[size];
+            chosen[k] = new byte[size];
+            for (int j = 0; j < size; j++) {
+                int i = kept[j];
+                e[j] = ne[i];
+                for (int d = 0; d < locations; d++) {
+                    t[d][j] = nt[d][i];
+                }
+                parents[k][j] = parent[i];
+                chosen[k][j] = loc[i];
+            }
+            if (k < numTasks - 1) {
+                for (int j = 0; j < size; j++) {
+                    complete(k, j, e[j], new double[]{t[0][j], t[1][j], t[2][j]}, parents, chosen, false);
+                    complete(k, j, e[j], new double[]{t[0][j], t[1][j], t[2][j]}, parents, chosen, true);
+                }
+            }
+        }
+
+        // The complete placements join those found, then the front is what is not dominated of them all
+        for (int s = 0; s < e.length; s++) {
+            double m = Math.max(t[0][s], Math.max(t[1][s], t[2][s]));
+            if (!dominated(e[s], m)) {
+                add(e[s], m, rebuild(numTasks - 1, s, parents, chosen));
+            }
+        }
+        energy = Arrays.copyOf(foundEnergy, foundSize);
+        makespan = Arrays.copyOf(foundMakespan, foundSize);
+        placements = Arrays.copyOf(found, foundSize);
+        buildHull();
+    } // Constructor
+
+    /**
+     * This method completes a partial placement by placing every remaining task where it takes the least energy, or
+     * where it adds the least to the makespan, and adds the placement to those found if it is not dominated.
+     *
+     * @param k         Last task placed
+     * @param s         Index of the partial placement among those kept after placing task k
+     * @param e         Energy of the partial placement
+     * @param delay     Delay of each location of the partial placement; updated
+     * @param parents   Partial placement each kept one was extended from, by task
+     * @param chosen    Location each kept partial placement placed its task at, by task
+     * @param byMakespan If the remaining tasks are placed where they add the least to the makespan
+     */
+    private void complete(int k, int s, double e, double[] delay, int[][] parents, byte[][] chosen,
+                          boolean byMakespan) {
+        int[] rest = new int[numTasks - k - 1];
+        for (int j = k + 1; j < numTasks; j++) {
+            int best = allowed[0];
+            for (int loc : allowed) {
+                if (byMakespan ? delay[loc] + model.getTime(loc, j) < delay[best] + model.getTime(best, j)
+                        : model.getEnergy(loc, j) < model.getEnergy(best, j)) {
+                    best = loc;
+                }
+            }
+            e += model.getEnergy(best, j);
+            delay[best] += model.getTime(best, j);
+            rest[j - k - 1] = best;
+        }
+        double m = Math.max(delay[0], Math.max(delay[1], delay[2]));
+        if (!dominated(e, m)) {
+            int[] placement = rebuild(k, s, parents, chosen);
+            System.arraycopy(rest, 0, placement, k + 1, rest.length);
+            add(e, m, placement);
+        }
+    } // complete
+
+    /**
+     * @param k       Last task placed
+     * @param s       Index of a partial placement among those kept after placing task k
+     * @param parents Partial placement each kept one was extended from, by task
+     * @param chosen  Location each kept partial placement placed its task at, by task
+     * @return Placement of all the tasks, with the tasks up to k placed as the partial placement places them
+     */
+    private int[] rebuild(int k, int s, int[][] parents, byte[][] chosen) {
+        int[] placement = new int[numTasks];
+        for (int j = k; j >= 0; j--) {
+            placement[j] = chosen[j][s];
+            s = parents[j][s];
+        }
+        return placement;
+    } // rebuild
+
+    /**
+     * @param e Energy, or a lower bound on it
+     * @param m Makespan, or a lower bound on it
+     * @return If a placement found has no more energy and no more makespan, less SLACK
+     */
+    private boolean dominated(double e, double m) {
+        int i = lastWithin(foundMakespan, foundSize, m - Math.abs(m) * SLACK);
+        return i >= 0 && foundEnergy[i] <= e - Math.abs(e) * SLACK;
+    } // dominated
+
+    /**
+     * This method adds a placement to those found, dropping any it dominates.  It must not itself be dominated.
+     *
+     * @param e         Energy of the placement
+     * @param m         Makespan of the placement
+     * @param placement Location of each task
+     */
+    private void add(double e, double m, int[] placement) {
+        int from = lastWithin(foundMakespan, foundSize, m) + 1; // First of greater makespan
+        if (from > 0 && foundMakespan[from - 1] == m) {          // Of the same makespan and more energy
+            from--;
+        }
+        int to = from;                                          // First not dominated by the placement
+        while (to < foundSize && foundEnergy[to] >= e) {
+            to++;
+        }
+        int size = foundSize - (to - from) + 1;
+        if (size > foundEnergy.length) {
+            foundEnergy = Arrays.copyOf(foundEnergy, 2 * size);
+            foundMakespan = Arrays.copyOf(foundMakespan, 2 * size);
+            found = Arrays.copyOf(found, 2 * size);
+        }
+        System.arraycopy(foundEnergy, to, foundEnergy, from + 1, foundSize - to);
+        System.arraycopy(foundMakespan, to, foundMakespan, from + 1, foundSize - to);
+        System.arraycopy(found, to, found, from + 1, foundSize - to);
+        foundEnergy[from] = e;
+        foundMakespan[from] = m;
+        found[from] = placement;
+        foundSize = size;
+    } // add
+
+    /**
+     * @param values Values in increasing order
+     * @param size   Number of values
+     * @param limit  Greatest value wanted
+     * @return Index of the last value no more than the limit, or -1 if there is none; found by binary search
+     */
+    private static int lastWithin(double[] values, int size, double limit) {
+        int lo = -1;
+        int hi = size - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (values[mid] <= limit) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    } // lastWithin
+
+    /**
+     * This method finds the lower convex hull of the front and the rho at which each vertex stops being best.  Moving
+     * along the front the makespan grows and the energy falls, and a vertex is better than the one before it only
+     * while rho is below the energy saved per second of makespan added.
+     */
+    private void buildHull() {
+        hull = new int[energy.length];
+        int size = 0;
+        for (int i = 0; i < energy.length; i++) {
+            while (size >= 2 && !below(hull[size - 2], hull[size - 1], i)) {
+                size--;
+            }
+            hull[size++] = i;
+        }
+        hull = Arrays.copyOf(hull, size);
+        breaks = new double[size];
+        breaks[0] = Double.POSITIVE_INFINITY;
+        for (int v = 1; v < size; v++) {
+            breaks[v] = (energy[hull[v - 1]] - energy[hull[v]]) / (makespan[hull[v]] - makespan[hull[v - 1]]);
+        }
+    } // buildHull
+
+    /**
+     * @param a First placement
+     * @param b Second placement, of greater makespan than a
+     * @param c Third placement, of greater makespan than b
+     * @return If b lies strictly below the line from a to c, so is a vertex of the lower convex hull
+     */
+    private boolean below(int a, int b, int c) {
+        return (energy[b] - energy[a]) * (makespan[c] - makespan[a])
+                < (energy[c] - energy[a]) * (makespan[b] - makespan[a]);
+    } // below
+
+    /**
+     * This method finds the placement of least cost, energy plus rho times makespan, in O(log k).  The vertices either
+     * side of the one found by the search are compared too, so a rho at a break chooses the cheaper exactly.
+     *
+     * @param rho Weight of the delay within the cost; at least 0
+     * @return Index of the placement within the front
+     */
+    int bestFor(double rho) {
+        int lo = 0;
+        int hi = hull.length - 1;
+        while (lo < hi) { // The last vertex whose break is above rho
+            int mid = (lo + hi + 1) >>> 1;
+            if (breaks[mid] > rho) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        int best = hull[lo];
+        for (int v = Math.max(0, lo - 1); v <= Math.min(hull.length - 1, lo + 1); v++) {
+            if (cost(hull[v], rho) < cost(best, rho)) {
+                best = hull[v];
+            }
+        }
+        return best;
+    } // bestFor
+
+    /**
+     * This method finds the placement of least energy whose makespan is within the deadline, in O(log k).
+     *
+     * @param deadline Seconds; greatest makespan allowed
+     * @return Index of the placement within the front, or -1 if no placement meets the deadline
+     */
+    int leastEnergyWithin(double deadline) {
+        return lastWithin(makespan, makespan.length, deadline); // Of least energy of those within the deadline
+    } // leastEnergyWithin
+
+    /**
+     * @param i   Index of a placement within the front
+     * @param rho Weight of the delay within the cost
+     * @return Cost of the placement, as CostModel.cost would calculate it with the given rho
+     */
+    double cost(int i, double rho) {
+        return energy[i] + rho * makespan[i];
+    } // cost
+
+    // Getters
+    int size() {
+        return energy.length;
+    }
+
+    int hullSize() {
+        return hull.length;
+    }
+
+    long getStates() {
+        return states;
+    }
+
+    double getEnergy(int i) {
+        return energy[i];
+    }
+
+    double getMakespan(int i) {
+        return makespan[i];
+    }
+
+    /**
+     * @param i Index of a placement within the front
+     * @return Location of each task of the placement; shared with the front, so it must not be modified
+     */
+    int[] getPlacement(int i) {
+        return placements[i];
+    }
+}
@@ -0,0 +1,230 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * This class remembers the best placements found by branch-and-bound so that a set of tasks which has been placed
+ * before does not need to be searched again.  A set of tasks is identified by its signature: the input size, output
+ * size and cycles per bit of each task, the sizes rounded to a multiple of the quantum, sorted so that the order of the
+ * tasks does not matter, together with the constants of the cost model and the allowed locations.  With a quantum of
+ * 0 the sizes are not rounded and every placement returned is the best for its tasks; otherwise a placement may be
+ * returned for a slightly different set of tasks, and so may be slightly worse than the best.
+ * <p>
+ * The least recently used placements are forgotten once the placements remembered take more than a given number of
+ * bytes.  When a set of tasks has not been placed before, the search may be started from the placement of the
+ * nearest of the last few sets of tasks placed, rather than from a greedy placement, which lets more of the search be
+ * abandoned early without changing the result.  Placements may be looked up and added from several threads at once.
+ */
+class PlacementCache {
+
+    private static final long ENTRY_OVERHEAD = 128;     // Bytes; estimated size of an entry besides its arrays
+    private static final int NEIGHBOURS = 64;           // Most recently added placements searched for the nearest
+
+    private double quantum;             // Sizes are rounded to a multiple of this; 0 for no rounding
+    private long maxBytes;              // Estimated bytes the remembered placements may take
+    private boolean warmStart;          // Start searches from the placement of the nearest remembered tasks
+    private long bytes;                 // Estimated bytes the remembered placements take
+    private long hits;                  // Lookups which found a placement
+    private long misses;                // Lookups which did not
+    private LinkedHashMap<Signature, int[]> placements; // Placement of each signature, by sorted position; in LRU order
+    private Signature[] recent;         // Signatures of the most recently added placements, for warm starts
+    private int[][] recentPlacements;   // Most recently added placements, by sorted position
+    private int nextRecent;             // Position of recent to add to next
+
+    /**
+     * This constructor creates an empty cache.
+     *
+     * @param quantum   Sizes are rounded to a multiple of this before comparing; 0 for no rounding
+     * @param maxBytes  Estimated bytes the remembered placements may take
+     * @param warmStart True to start searches from the placement of the nearest remembered tasks
+     */
+    PlacementCache(double quantum, long maxBytes, boolean warmStart) {
+        this.quantum = quantum;
+        this.maxBytes = maxBytes;
+        this.warmStart = warmStart;
+        placements = new LinkedHashMap<>(16, 0.75f, true);
+        recent = new Signature[NEIGHBOURS];
+        recentPlacements = new int[NEIGHBOURS][];
+    } // Constructor
+
+    /**
+     * This method finds the best placement of the given tasks, from the cache if the tasks have been placed before
+     * and by branch-and-bound otherwise.
+     *
+     * @param batch   Tasks to place
+     * @param model   Cost model of the tasks
+     * @param p       Constants of the architecture and tasks
+     * @param allowed Locations a task may be processed at; 0: Local User, 1: Access Point, 2: Remote Cloud
+     * @return Best location of each task
+     */
+    int[] solve(TaskBatch batch, CostModel model, Parameters p, int[] allowed) {
+        int n = batch.size();
+        double[] in = batch.inputData();
+        double[] out = batch.outputData();
+        double[] cpb = batch.cyclesPerBit();
+        Integer[] order = new Integer[n];   // Task at each sorted position
+        double[] sizes = new double[3 * n]; // Rounded sizes of the tasks, in sorted order
+        double[] constants = new double[Parameters.count() + 1 + allowed.length];
+        int[] found;
+        boolean hit;
+        int[] result = new int[n];
+
+        for (int k = 0; k < n; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int c = Double.compare(round(in[a]), round(in[b]));
+            if (c == 0) {
+                c = Double.compare(round(out[a]), round(out[b]));
+            }
+            return c != 0 ? c : Double.compare(cpb[a], cpb[b]);
+        });
+        for (int j = 0; j < n; j++) {
+            sizes[3 * j] = round(in[order[j]]);
+            sizes[3 * j + 1] = round(out[order[j]]);
+            sizes[3 * j + 2] = cpb[order[j]];
+        }
+        for (int i = 0; i < Parameters.count(); i++) {
+            constants[i] = p.get(i);
+        }
+        constants[Parameters.count()] = model.getRho();
+        for (int i = 0; i < allowed.length; i++) {
+            constants[Parameters.count() + 1 + i] = allowed[i];
+        }
+        Signature key = new Signature(sizes, constants);
+
+        synchronized (this) {
+            found = placements.get(key);
+            hit = found != null;
+            if (hit) {
+                hits++;
+            } else {
+                misses++;
+                found = warmStart ? nearest(key) : null;
+            }
+        }
+        if (hit) { // The placement is by sorted position
+            for (int j = 0; j < n; j++) {
+                result[order[j]] = found[j];
+            }
+            return result;
+        }
+        int[] incumbent = null;
+        if (found != null) { // Also try starting from the nearest neighbour's placement
+            incumbent = new int[n];
+            for (int j = 0; j < n; j++) {
+                incumbent[order[j]] = found[j];
+            }
+        }
+        result = PolicyRegistry.branchAndBound(model, allowed, incumbent);
+        int[] sorted = new int[n];
+        for (int j = 0; j < n; j++) {
+            sorted[j] = result[order[j]];
+        }
+        synchronized (this) {
+            if (placements.put(key, sorted) == null) {
+                bytes += size(key);
+            }
+            recent[nextRecent] = key;
+            recentPlacements[nextRecent] = sorted;
+            nextRecent = (nextRecent + 1) % NEIGHBOURS;
+            // Forget the least recently used placements until within the bound
+            Iterator<Signature> eldest = placements.keySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= size(eldest.next());
+                eldest.remove();
+            }
+        }
+        return result;
+    } // solve
+
+    /**
+     * This method finds, of the last NEIGHBOURS placements added, that of the nearest set of tasks with the same
+     * number of tasks and the same constants; the distance being the total difference between their sorted, rounded
+     * sizes.  Only the last few are searched so that a miss stays cheap however many placements are remembered.
+     *
+     * @param key Signature of the tasks
+     * @return Placement of the nearest tasks by sorted position, or null if there are none
+     */
+    private int[] nearest(Signature key) {
+        int[] best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (int r = 0; r < NEIGHBOURS; r++) {
+            Signature s = recent[r];
+            if (s == null || s.sizes.length != key.sizes.length || !Arrays.equals(s.constants, key.constants)) {
+                continue;
+            }
+            double distance = 0.0;
+            for (int i = 0; i < key.sizes.length && distance < bestDistance; i++) {
+                distance += Math.abs(s.sizes[i] - key.sizes[i]);
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = recentPlacements[r];
+            }
+        }
+        return best;
+    } // nearest
+
+    /**
+     * @param x A size
+     * @return x rounded to a multiple of the quantum
+     */
+    private double round(double x) {
+        return quantum > 0 ? Math.rint(x / quantum) * quantum : x;
+    } // round
+
+    /**
+     * @param key Signature of a remembered placement
+     * @return Estimated bytes the placement takes
+     */
+    private static long size(Signature key) {
+        return ENTRY_OVERHEAD + 8L * (key.sizes.length + key.constants.length) + 4L * key.sizes.length / 3;
+    } // size
+
+    /**
+     * This method prints the number of hits and misses, the percentage of lookups which hit, and the number and
+     * estimated size of the remembered placements to the user.
+     */
+    synchronized void report() {
+        System.out.println("PLACEMENT CACHE:\tHits: " + hits + "\tMisses: " + misses + "\tHit rate: "
+                + String.format(Locale.ROOT, "%.1f%%", hits + misses == 0 ? 0.0 : 100.0 * hits / (hits + misses))
+                + "\tPlacements: " + placements.size() + "\tBytes: " + bytes);
+    } // report
+
+    // Getters
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * The signature of a set of tasks.
+     */
+    private static class Signature {
+        double[] sizes;         // Rounded sizes of the tasks, in sorted order
+        double[] constants;     // Constants of the cost model and the allowed locations
+        int hash;
+
+        Signature(double[] sizes, double[] constants) {
+            this.sizes = sizes;
+            this.constants = constants;
+            hash = 31 * Arrays.hashCode(sizes) + Arrays.hashCode(constants);
+        } // Constructor
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature && hash == ((Signature) o).hash && Arrays.equals(sizes, ((Signature) o).sizes)
+                    && Arrays.equals(constants, ((Signature) o).constants);
+        } // equals
+
+        @Override
+        public int hashCode() {
+            return hash;
+        } // hashCode
+    }
+}
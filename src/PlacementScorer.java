@@ -0,0 +1,76 @@
+import java.lang.reflect.Constructor;
+import java.util.function.Function;
+
+/**
+ * This interface is implemented by every way of calculating the cost, as defined within the paper, of many placements
+ * of the same tasks at once.  The placements are given task by task rather than placement by placement, so the
+ * locations of one task in consecutive placements are next to each other and may be read together.
+ * <p>
+ * Every implementation produces exactly the costs CostModel.cost would, bit for bit, so the searches find the same
+ * placements whichever is used.  The vector implementation is compiled separately from the rest of the simulation,
+ * as it needs the incubating Vector API of the JDK, and is only used if it was compiled and the program is run with
+ * "java --add-modules jdk.incubator.vector Main"; otherwise the scalar implementation is used.
+ */
+interface PlacementScorer {
+
+    String VECTOR_CLASS = "VectorPlacementScorer"; // Name of the vector implementation, within src/vector
+
+    /**
+     * @param model Cost model of the tasks to be placed
+     * @return the vector implementation if it can be loaded, otherwise the scalar implementation
+     */
+    static PlacementScorer of(CostModel model) {
+        return Factory.MAKE.apply(model);
+    } // of
+
+    /**
+     * @return Name of the implementation, as printed to the user
+     */
+    String name();
+
+    /**
+     * @return Number of placements scored together; blocks of placements should be a multiple of this
+     */
+    int lanes();
+
+    /**
+     * This method calculates the cost of each of several placements.
+     *
+     * @param codes  Location of task k in placement c at codes[k * stride + c]; 0: Local User, 1: Access Point,
+     *               2: Remote Cloud
+     * @param stride Distance between the locations of consecutive tasks within codes; at least count
+     * @param count  Number of placements
+     * @param costs  Filled with the cost of placement c at costs[c]
+     */
+    void score(int[] codes, int stride, int count, double[] costs);
+
+    /**
+     * Makes the implementation in use.  Whether the vector implementation can be loaded, and its constructor, are
+     * found once, when a scorer is first made, rather than by each search.
+     */
+    final class Factory {
+        static final Function<CostModel, PlacementScorer> MAKE = find();
+
+        private Factory() {
+        } // Constructor
+
+        /**
+         * @return Makes the vector implementation if it can be loaded, otherwise the scalar implementation
+         */
+        private static Function<CostModel, PlacementScorer> find() {
+            Constructor<?> vector;
+            try {
+                vector = Class.forName(VECTOR_CLASS).getDeclaredConstructor(CostModel.class);
+            } catch (ReflectiveOperationException | LinkageError e) { // Not compiled, or the module was not added
+                return ScalarPlacementScorer::new;
+            }
+            return model -> {
+                try {
+                    return (PlacementScorer) vector.newInstance(model);
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    return new ScalarPlacementScorer(model);
+                }
+            };
+        } // find
+    }
+}
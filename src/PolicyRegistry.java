@@ -0,0 +1,460 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * This class holds every task offloading method known to the simulation, by index.  The methods of the paper are
+ * registered first, in the order their results have always been numbered within data collection:
+ * 0 - Local Only
+ * 1 - Access Point Only
+ * 2 - Remote Cloud Only
+ * 3 - Random Only
+ * 4 - LC 100
+ * 5 - LAC 100
+ * 6 - Random Mapping 100
+ * followed by the methods added since.  Data collection, the custom test suite and the menu run whichever methods are
+ * registered, so a new method only needs to be registered here, or by calling register before the simulation runs.
+ */
+class PolicyRegistry {
+
+    // LC/LAC 100 Constants
+    private static final int SEARCH_MODE = 2;   // 0: Nested loops, 1: Gray code, 2: Branch and bound, 3: DP,
+                                                // 4: Blocks scored together, by vector if available
+    static final double DP_EPSILON = 0.1;       // Most dynamic programming should cost over the best, by least energy
+    static final long DP_CHOICES = 1L << 24;    // Most locations dynamic programming keeps to rebuild placements
+    static final long BB_NODE_LIMIT = 1L << 22; // Partial placements branch and bound may expand, about a second;
+                                                // it proves the best placement within this up to about 150 tasks
+
+    // Placement Cache Constants; defaults of the cache options of RunOptions
+    static final boolean USE_PLACEMENT_CACHE = false;       // Reuse placements found before
+    static final double CACHE_QUANTUM = 5 * 8e6;            // Bits; 5MB; sizes are rounded to this; 0 for exact
+    static final long CACHE_BYTES = 64L << 20;              // Estimated bytes the placements may take
+    static final boolean CACHE_WARM_START = true;           // Search from the nearest placement found before
+
+    // Metaheuristic Constants
+    static final long META_BUDGET = 1000;       // Milliseconds simulated annealing or the genetic algorithm may take
+    static final int META_ROUNDS = 100;         // Coolings of a chain or generations each may make as a method; they
+                                                // are given no time budget, so the placement depends only on the seed
+
+    // Online Constants
+    static final int ONLINE_LOOKAHEAD = 4;      // Further tasks considered; 0 for greedy
+
+    private static final ArrayList<OffloadingPolicy> POLICIES = new ArrayList<>(); // Registered methods, by index
+    private static volatile PlacementCache cache;   // Placements found before, or null if they are not reused
+
+    static {
+        POLICIES.add(new BuiltIn("Local User", '1', "All tasks will be processed on the Local User.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeAll(batch, 0);
+            }
+        });
+        POLICIES.add(new BuiltIn("Access Point", '2', "All tasks will be processed on the Access Point.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeAll(batch, 1);
+            }
+        });
+        POLICIES.add(new BuiltIn("Remote Cloud", '3', "All tasks will be processed on the Remote Cloud.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeAll(batch, 2);
+            }
+        });
+        POLICIES.add(new BuiltIn("Random", '4', "Each task is randomly assigned to LU, AP, or RC.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeRandom(batch, local, p, rand);
+            }
+        });
+        POLICIES.add(new BuiltIn("LC 100", '5', "Proposed method from paper. Does not include AP.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeBest(batch, local, p, new int[]{0, 2});
+            }
+        });
+        POLICIES.add(new BuiltIn("LAC 100", '6', "Primary offloading method investigated within paper.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeBest(batch, local, p, new int[]{0, 1, 2});
+            }
+        });
+        POLICIES.add(new BuiltIn("RM 100", '7', "Proposed method from paper. Uses Random Mapping algorithm.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeRM100(batch, local, p, rand);
+            }
+        });
+        POLICIES.add(new BuiltIn("LAC 100 (Parallel)", '8', "LAC 100 searching every placement on all cores.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return new ParallelSearch(new CostModel(batch, local, p.get(Parameters.RHO)))
+                        .search(new int[]{0, 1, 2});
+            }
+        });
+        POLICIES.add(new BuiltIn("Online", 'o', "Each task is placed as it arrives, against LAC 100.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return placeOnline(batch, local, p, rand);
+            }
+        });
+        POLICIES.add(new BuiltIn("LAC 100 (Annealing)", 'a', "LAC 100 by simulated annealing, for many tasks.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return new Metaheuristic(new CostModel(batch, local, p.get(Parameters.RHO)), Metaheuristic.ANNEALING,
+                        rand.nextLong(), 0, META_ROUNDS).search(new int[]{0, 1, 2});
+            }
+        });
+        POLICIES.add(new BuiltIn("LAC 100 (Genetic)", 'g', "LAC 100 by a genetic algorithm, for many tasks.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return new Metaheuristic(new CostModel(batch, local, p.get(Parameters.RHO)), Metaheuristic.GENETIC,
+                        rand.nextLong(), 0, META_ROUNDS).search(new int[]{0, 1, 2});
+            }
+        });
+        POLICIES.add(new BuiltIn("Deadline", 'e', "Little energy with every task meeting its deadline if it can.") {
+            @Override
+            public int[] place(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+                    throws CustomException {
+                return new DeadlinePlacer(new CostModel(batch, local, p.get(Parameters.RHO)), batch.deadline(),
+                        batch.weight(), new int[]{0, 1, 2}).place();
+            }
+        });
+    }
+
+    /**
+     * This method adds a task offloading method after those already registered.
+     *
+     * @param policy The method
+     * @throws CustomException If a method of the same name or key is already registered
+     */
+    static synchronized void register(OffloadingPolicy policy) throws CustomException {
+        for (OffloadingPolicy other : POLICIES) {
+            if (other.name().equals(policy.name()) || other.key() == policy.key()) {
+                throw new CustomException("ERROR: A method named " + other.name() + " with key " + other.key()
+                        + " is already registered");
+            }
+        }
+        POLICIES.add(policy);
+    } // register
+
+    /**
+     * @return Number of registered methods
+     */
+    static synchronized int count() {
+        return POLICIES.size();
+    } // count
+
+    /**
+     * @param index The associated numerical index of a method
+     * @return The method
+     */
+    static synchronized OffloadingPolicy get(int index) {
+        return POLICIES.get(index);
+    } // get
+
+    /**
+     * @param key Key which chooses a method from the menu
+     * @return The method, or null if no method has the key
+     */
+    static synchronized OffloadingPolicy byKey(char key) {
+        for (OffloadingPolicy policy : POLICIES) {
+            if (policy.key() == key) {
+                return policy;
+            }
+        }
+        return null;
+    } // byKey
+
+    /**
+     * @param key Key which chooses a method from the menu
+     * @return The associated numerical index of the method, or -1 if no method has the key
+     */
+    static synchronized int indexOf(char key) {
+        for (int i = 0; i < POLICIES.size(); i++) {
+            if (POLICIES.get(i).key() == key) {
+                return i;
+            }
+        }
+        return -1;
+    } // indexOf
+
+    /**
+     * This method makes LC 100 and LAC 100 reuse the placements they have found before, from an empty cache, or stop
+     * reusing them.  The cache is only made once it is used, so an execution which does not use it never loads it.
+     *
+     * @param use       True to reuse placements
+     * @param quantum   Bits; sizes are rounded to a multiple of this before comparing; 0 for no rounding
+     * @param maxBytes  Estimated bytes the remembered placements may take
+     * @param warmStart True to start searches from the placement of the nearest remembered tasks
+     */
+    static void useCache(boolean use, double quantum, long maxBytes, boolean warmStart) {
+        cache = use ? new PlacementCache(quantum, maxBytes, warmStart) : null;
+    } // useCache
+
+    /**
+     * @return The cache of placements found before, or null if they are not reused
+     */
+    static PlacementCache cache() {
+        return cache;
+    } // cache
+
+    /**
+     * @param batch Tasks to place
+     * @param loc   Location every task is processed at
+     * @return The placement of every task at loc
+     */
+    private static int[] placeAll(TaskBatch batch, int loc) {
+        int[] locations = new int[batch.size()];
+        for (int k = 0; k < locations.length; k++) {
+            locations[k] = loc;
+        }
+        return locations;
+    } // placeAll
+
+    /**
+     * This method places the tasks randomly at one of the three locations.
+     */
+    private static int[] placeRandom(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand) {
+        int[] locations = new int[batch.size()];
+        for (int k = 0; k < locations.length; k++) {
+            locations[k] = rand.nextInt(3);
+        }
+        return locations;
+    } // placeRandom
+
+    /**
+     * This method places the tasks using the LC 100 or LAC 100 method described in the paper, depending on the
+     * allowed locations.  The algorithm was not successfully implemented, and so the best possible solution is
+     * obtained instead.  If the intended algorithm was implemented, the minimization problem would have obtained
+     * similar solutions.
+     *
+     * @param batch   Tasks to place
+     * @param local   The local user
+     * @param p       Constants of the architecture and tasks
+     * @param allowed Locations a task may be processed at; {0, 2} for LC 100 and {0, 1, 2} for LAC 100
+     * @return Best location of each task
+     * @throws CustomException Indicates program error
+     */
+    private static int[] placeBest(TaskBatch batch, LocalUser local, Parameters p, int[] allowed)
+            throws CustomException {
+        // Precompute the energy and time of each task at each location
+        CostModel model = new CostModel(batch, local, p.get(Parameters.RHO));
+        PlacementCache reuse = cache;
+        switch (reuse != null ? -1 : SEARCH_MODE) {
+            case -1: // Look up the placement, searching by branch and bound if not found
+                return reuse.solve(batch, model, p, allowed);
+            case 0:
+                return allowed.length == 2 ? bruteForceLC100(model) : bruteForceLAC100(model);
+            case 1:
+                return new GrayCodeSearch(model).search(allowed);
+            case 3: // Close to the best rather than the best, but in time polynomial in the number of tasks
+                return new DynamicProgram(model, DP_EPSILON, DP_CHOICES).solve(allowed);
+            case 4:
+                return new BlockSearch(model).search(allowed);
+            default:
+                return branchAndBound(model, allowed, null);
+        }
+    } // placeBest
+
+    /**
+     * This method finds the best placement by branch and bound, expanding at most BB_NODE_LIMIT partial placements.
+     * If the search is stopped before it proves its placement best, dynamic programming to within DP_EPSILON is also
+     * run and the cheaper placement kept, so many tasks take seconds rather than hours.
+     *
+     * @param model     Cost model of the tasks to place
+     * @param allowed   Locations a task may be processed at; {0, 2} for LC 100 and {0, 1, 2} for LAC 100
+     * @param incumbent Placement to start from if it is cheaper, or null to start from a greedy placement
+     * @return Best location of each task, or the cheapest found if the search was stopped
+     */
+    static int[] branchAndBound(CostModel model, int[] allowed, int[] incumbent) {
+        BranchAndBound search = new BranchAndBound(model);
+        search.setNodeLimit(BB_NODE_LIMIT);
+        int[] best = search.solve(allowed, incumbent);
+        if (search.isOptimal()) {
+            return best;
+        }
+        int[] close = new DynamicProgram(model, DP_EPSILON, DP_CHOICES).solve(allowed);
+        return model.cost(close) < search.getBestCost() ? close : best;
+    } // branchAndBound
+
+    /**
+     * This method finds the best placement for LC 100 by checking every placement of the ten tasks in nested loops.
+     *
+     * @param model Cost model of the tasks
+     * @return Best location of each task
+     * @throws CustomException Indicates program error
+     */
+    private static int[] bruteForceLC100(CostModel model) throws CustomException {
+        if (model.size() != 10) {
+            throw new CustomException("LC100 requires NUMBER_OF_TASKS to be equal to 10!");
+        }
+        // Save variables for best solutions
+        int[] best_locations = new int[10];
+        double best_cost = Double.MAX_VALUE;
+        // Store locations to process each of the ten tasks.
+        int[] i = new int[10];
+        int[] locations = new int[10];
+        // Begin brute force search for optimal solution
+        for (i[0] = 0; i[0] < 2; i[0]++) {
+            for (i[1] = 0; i[1] < 2; i[1]++) {
+                for (i[2] = 0; i[2] < 2; i[2]++) {
+                    for (i[3] = 0; i[3] < 2; i[3]++) {
+                        for (i[4] = 0; i[4] < 2; i[4]++) {
+                            for (i[5] = 0; i[5] < 2; i[5]++) {
+                                for (i[6] = 0; i[6] < 2; i[6]++) {
+                                    for (i[7] = 0; i[7] < 2; i[7]++) {
+                                        for (i[8] = 0; i[8] < 2; i[8]++) {
+                                            for (i[9] = 0; i[9] < 2; i[9]++) {
+                                                // Locations according to the above loops (Local or RC)
+                                                for (int k = 0; k < 10; k++) {
+                                                    locations[k] = i[k] * 2;
+                                                }
+                                                // Measure cost
+                                                double new_cost = model.cost(locations);
+                                                // If new cost is better than old cost, this is the new optimal
+                                                if (new_cost < best_cost) {
+                                                    // Save new optimal solution
+                                                    best_cost = new_cost;
+                                                    System.arraycopy(locations, 0, best_locations, 0, 10);
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return best_locations;
+    } // bruteForceLC100
+
+    /**
+     * This method finds the best placement for LAC 100 by checking every placement of the ten tasks in nested loops.
+     *
+     * @param model Cost model of the tasks
+     * @return Best location of each task
+     * @throws CustomException Indicates program error
+     */
+    private static int[] bruteForceLAC100(CostModel model) throws CustomException {
+        if (model.size() != 10) {
+            throw new CustomException("LAC100 requires NUMBER_OF_TASKS to be equal to 10!");
+        }
+        // Save variables for best solutions
+        int[] best_locations = new int[10];
+        double best_cost = Double.MAX_VALUE;
+        // Store locations to process each of the ten tasks.
+        int[] i = new int[10];
+        // Begin brute force search for optimal solution
+        for (i[0] = 0; i[0] < 3; i[0]++) {
+            for (i[1] = 0; i[1] < 3; i[1]++) {
+                for (i[2] = 0; i[2] < 3; i[2]++) {
+                    for (i[3] = 0; i[3] < 3; i[3]++) {
+                        for (i[4] = 0; i[4] < 3; i[4]++) {
+                            for (i[5] = 0; i[5] < 3; i[5]++) {
+                                for (i[6] = 0; i[6] < 3; i[6]++) {
+                                    for (i[7] = 0; i[7] < 3; i[7]++) {
+                                        for (i[8] = 0; i[8] < 3; i[8]++) {
+                                            for (i[9] = 0; i[9] < 3; i[9]++) {
+                                                // Measure cost of locations from above loops
+                                                double new_cost = model.cost(i);
+                                                // If new cost is better than old cost, this is the new optimal
+                                                if (new_cost < best_cost) {
+                                                    // Save new optimal solution
+                                                    best_cost = new_cost;
+                                                    System.arraycopy(i, 0, best_locations, 0, 10);
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return best_locations;
+    } // bruteForceLAC100
+
+    /**
+     * This method places the tasks for random mapping using the Random Mapping 100 method described in the paper.
+     */
+    private static int[] placeRM100(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand) {
+        int[] locations = new int[batch.size()];
+        // Randomly assign locations for each task as described in the paper.
+        for (int k = 0; k < locations.length; k++) {
+            if (rand.nextDouble() < 0.5) {
+                locations[k] = 0;
+            } else if (rand.nextDouble() < 0.5) {
+                locations[k] = 1;
+            } else {
+                locations[k] = 2;
+            }
+        }
+        return locations;
+    } // placeRM100
+
+    /**
+     * This method places the tasks one at a time in the order they arrive, each by an online placer which has seen
+     * only the tasks before it and considers ONLINE_LOOKAHEAD further tasks.
+     */
+    private static int[] placeOnline(TaskBatch batch, LocalUser local, Parameters p, SplittableRandom rand)
+            throws CustomException {
+        OnlinePlacer placer = new OnlinePlacer(local, p.get(Parameters.RHO), new int[]{0, 1, 2}, ONLINE_LOOKAHEAD,
+                batch.size());
+        int[] locations = new int[batch.size()];
+        for (int k = 0; k < locations.length; k++) {
+            locations[k] = placer.place(batch.inputData()[k], batch.outputData()[k], batch.cyclesPerBit()[k]);
+        }
+        return locations;
+    } // placeOnline
+
+    /**
+     * A method built into the simulation.  Each is registered as its own subclass, giving place; this class holds what
+     * they share.  Each placement keeps its state within the call, so every built in method is thread safe.
+     */
+    private abstract static class BuiltIn implements OffloadingPolicy {
+        private String name;
+        private char key;
+        private String description;
+
+        BuiltIn(String name, char key, String description) {
+            this.name = name;
+            this.key = key;
+            this.description = description;
+        } // Constructor
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String description() {
+            return description;
+        }
+
+        @Override
+        public char key() {
+            return key;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+    }
+}
@@ -8,6 +8,9 @@ class RemoteCloud {
     private double RC_CPU_RATE;     // Cycles per second
     private double RC_PROC_CST;     // Constant related to processing task on RC
     
+    private EventSimulator simulator;   // Simulator the server below belongs to
+    private int cpuServer;              // Remote Cloud CPU within the simulator
+    
     /**
      * This constructor initializes a new Remote Cloud with the specified values.
      *
@@ -27,7 +30,53 @@ class RemoteCloud {
      * @throws CustomException Indicates Program Error
      */
     void resolveTask(Task t) throws CustomException {
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.COMPUTED_RC);
+        }
         // Compute on Remote Cloud
         t.processTask(0, RC_CPU_RATE, RC_PROC_CST);
     } // resolveTask
+    
+    /**
+     * Add the CPU of the Remote Cloud to an event simulator. Nothing is added if it already belongs to the simulator.
+     *
+     * @param sim Simulator to add the server to
+     */
+    void attach(EventSimulator sim) {
+        if (simulator == sim) {
+            return;
+        }
+        simulator = sim;
+        cpuServer = sim.addServer(RC_CPU_RATE);
+    } // attach
+    
+    /**
+     * Add the stage of computing a task on the Remote Cloud to its route.
+     *
+     * @param sim Simulator the task belongs to
+     * @param in  Input data size
+     * @param cpb Cycles per bit
+     */
+    void route(EventSimulator sim, double in, double cpb) {
+        sim.addStage(cpuServer, in * cpb);
+    } // route
+    
+    /**
+     * Resolve the tasks of a batch which have arrived at the remote cloud.
+     *
+     * @param batch Tasks to be resolved
+     */
+    void resolveBatch(TaskBatch batch) {
+        double[] in = batch.inputData();
+        double[] cpb = batch.cyclesPerBit();
+        byte[] loc = batch.location();
+        double[] energy = batch.energy();
+        double[] time = batch.time();
+        for (int k = 0; k < batch.size(); k++) {
+            if (loc[k] == 2) { // Compute on Remote Cloud
+                energy[k] += RC_PROC_CST * in[k];
+                time[k] += in[k] * cpb[k] / RC_CPU_RATE;
+            }
+        }
+    } // resolveBatch
 }
@@ -0,0 +1,35 @@
+import java.io.IOException;
+
+/**
+ * This interface is implemented by anything which receives the results of data collection as they are produced.
+ */
+interface ResultSink {
+
+    /**
+     * This method receives the next result of a task offloading method.
+     *
+     * @param method The associated numerical index of the task offloading method
+     * @param result Result of the run
+     * @throws IOException If the result cannot be written
+     */
+    void write(int method, double result) throws IOException;
+
+    /**
+     * This method receives the number of tasks the run of the last result placed at each location.  By default the
+     * placements are not needed and are ignored.
+     *
+     * @param method The associated numerical index of the task offloading method
+     * @param atEach Number of tasks placed at each location, by location code
+     * @throws IOException If the placements cannot be written
+     */
+    default void placed(int method, int[] atEach) throws IOException {
+    } // placed
+
+    /**
+     * @param method The associated numerical index of the task offloading method
+     * @return If no more results of the method are wanted; by default every run is wanted
+     */
+    default boolean isDone(int method) {
+        return false;
+    } // isDone
+}
@@ -0,0 +1,202 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This class streams the results of data collection to disk as they are produced, so memory use does not grow with
+ * the number of runs.  Results are written in one of three formats:
+ * TEXT   - One file per method, named by method, alpha and beta, holding one result per line.
+ * BINARY - One file per method, named as for TEXT, holding a header of HEADER_SIZE bytes followed by the results as
+ * little-endian doubles.  The header is the int MAGIC, the int index of the method and the doubles alpha and beta.
+ * CSV    - A single file holding a row of method, alpha, beta, run and result for every result.
+ * NONE   - No file; the results are only summarised by RunStatistics, not written.
+ * Binary files may be exported to CSV later with exportCsv, or by executing "java ResultWriter results.csv
+ * results.bin ..." in a terminal.
+ */
+class ResultWriter implements ResultSink {
+
+    static final int TEXT = 0;
+    static final int BINARY = 1;
+    static final int CSV = 2;
+    static final int NONE = 3;
+
+    static final int MAGIC = 0x4D434352;                // "MCCR"; identifies a binary result file
+    static final int HEADER_SIZE = 4 + 4 + 8 + 8;       // Bytes; magic, method, alpha and beta
+    private static final int BUFFER_SIZE = 1 << 16;     // Bytes buffered before writing to disk
+    private static final String CSV_HEADER = "method,alpha,beta,run,result";
+
+    private int format;                 // TEXT, BINARY or CSV
+    private double alpha;               // Alpha the results were collected with
+    private double beta;                // Beta the results were collected with
+    private long[] runs;                // Results written so far for each method
+    private BufferedWriter[] texts;     // TEXT: file of each method; CSV: the single file
+    private FileChannel[] channels;     // BINARY: file of each method
+    private ByteBuffer[] buffers;       // BINARY: results waiting to be written for each method
+
+    /**
+     * This constructor creates the files the results of each method are to be written to.
+     *
+     * @param directory Directory to write to
+     * @param methods   Number of task offloading methods
+     * @param alpha     Alpha the results are collected with, as used in the file names
+     * @param beta      Beta the results are collected with, as used in the file names
+     * @param format    TEXT, BINARY or CSV
+     * @throws IOException If a file cannot be created
+     */
+    ResultWriter(String directory, int methods, double alpha, double beta, int format) throws IOException {
+        this.format = format;
+        this.alpha = alpha;
+        this.beta = beta;
+        runs = new long[methods];
+        if (format == CSV) {
+            texts = new BufferedWriter[]{new BufferedWriter(new FileWriter(directory + "/A" + alpha + "_B" + beta
+                    + ".csv"), BUFFER_SIZE)};
+            texts[0].write(CSV_HEADER);
+            texts[0].write('\n');
+        } else if (format == BINARY) {
+            channels = new FileChannel[methods];
+            buffers = new ByteBuffer[methods];
+            for (int i = 0; i < methods; i++) {
+                channels[i] = FileChannel.open(Paths.get(directory, fileName(i, "bin")), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                buffers[i] = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                buffers[i].putInt(MAGIC).putInt(i).putDouble(alpha).putDouble(beta);
+            }
+        } else {
+            texts = new BufferedWriter[methods];
+            for (int i = 0; i < methods; i++) {
+                texts[i] = new BufferedWriter(new FileWriter(directory + "/" + fileName(i, "txt")), BUFFER_SIZE);
+            }
+        }
+    } // Constructor
+
+    /**
+     * @param method    Index of the method
+     * @param extension File extension
+     * @return Name of the file of the method's results
+     */
+    private String fileName(int method, String extension) {
+        return method + "_A" + alpha + "_B" + beta + "." + extension;
+    } // fileName
+
+    /**
+     * This method writes the next result of a method.
+     *
+     * @param method Index of the method
+     * @param result Result of the run
+     * @throws IOException If the result cannot be written
+     */
+    @Override
+    public void write(int method, double result) throws IOException {
+        if (format == CSV) {
+            texts[0].write(method + "," + alpha + "," + beta + "," + runs[method] + "," + result);
+            texts[0].write('\n');
+        } else if (format == BINARY) {
+            if (buffers[method].remaining() < Double.BYTES) {
+                drain(method);
+            }
+            buffers[method].putDouble(result);
+        } else {
+            texts[method].write(Double.toString(result));
+            texts[method].write('\n');
+        }
+        runs[method]++;
+    } // write
+
+    /**
+     * This method writes the buffered results of a method to its file.
+     *
+     * @param method Index of the method
+     * @throws IOException If the results cannot be written
+     */
+    private void drain(int method) throws IOException {
+        buffers[method].flip();
+        while (buffers[method].hasRemaining()) {
+            channels[method].write(buffers[method]);
+        }
+        buffers[method].clear();
+    } // drain
+
+    /**
+     * This method writes any buffered results and closes every file.
+     *
+     * @throws IOException If the results cannot be written
+     */
+    void close() throws IOException {
+        if (format == BINARY) {
+            for (int i = 0; i < channels.length; i++) {
+                drain(i);
+                channels[i].close();
+            }
+        } else {
+            for (BufferedWriter t : texts) {
+                t.close();
+            }
+        }
+    } // close
+
+    /**
+     * Exports binary result files to CSV.
+     *
+     * @param args The CSV file to write followed by the binary result files
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java ResultWriter results.csv results.bin ...");
+            return;
+        }
+        try {
+            exportCsv(Arrays.copyOfRange(args, 1, args.length), args[0]);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    } // main
+
+    /**
+     * This method exports binary result files to a single CSV file with a row of method, alpha, beta, run and
+     * result for every result.  The files are read a buffer at a time so they may be of any size.
+     *
+     * @param binaryFiles Binary result files
+     * @param csvFile     CSV file to write
+     * @throws IOException If a file cannot be read or written, or is not a binary result file
+     */
+    static void exportCsv(String[] binaryFiles, String csvFile) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(csvFile), BUFFER_SIZE)) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+            for (String file : binaryFiles) {
+                try (FileChannel in = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+                    buffer.clear();
+                    int read = 0;
+                    while (buffer.position() < HEADER_SIZE && read >= 0) {
+                        read = in.read(buffer);
+                    }
+                    buffer.flip();
+                    if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                        throw new IOException(file + " is not a binary result file");
+                    }
+                    String prefix = buffer.getInt() + "," + buffer.getDouble() + "," + buffer.getDouble() + ",";
+                    long run = 0;
+                    while (true) {
+                        while (buffer.remaining() >= Double.BYTES) {
+                            out.write(prefix + run++ + "," + buffer.getDouble());
+                            out.write('\n');
+                        }
+                        buffer.compact(); // Keep any part of a result for the next read
+                        if (in.read(buffer) < 0) {
+                            break;
+                        }
+                        buffer.flip();
+                    }
+                }
+            }
+        }
+    } // exportCsv
+}
@@ -0,0 +1,336 @@
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+/**
+ * This class holds how a single execution of the simulation is to run when it is started without the menu, so it can
+ * be scripted: the testing mode or method, the number of data collection runs, the random number seed, the format and
+ * directory of the results, and the values of any of the Parameters.  Each option is given as name=value, either on
+ * the command line or as a line of a config file given by config=file; options later on the command line replace
+ * those before them, including those of the file.  The options are:
+ * mode=KEY     - Key of a choice of the menu, or collect for data collection
+ * method=KEY   - Key or name of a task offloading method to run on its own, as a choice of the menu would
+ * runs=N       - Times to repeat each method for data collection, and at each point of a sweep
+ * seed=N       - Random number seed
+ * format=F     - text, binary, csv or none; format of the results of data collection, none for only their summary
+ * sampling=S   - independent, common or antithetic; whether the methods of data collection run on the same tasks
+ * precision=P  - Relative half-width of the confidence interval of the mean cost at which a method's runs stop
+ * output=DIR   - Directory the results of data collection and sweeps are written to; created if need be
+ * cache=B      - true or false; whether LC 100 and LAC 100 reuse the placements they have found before
+ * cacheQuantum=Q   - Bits; task sizes are rounded to a multiple of this when looking up a placement; 0 for exact
+ * cacheBytes=N     - Estimated bytes the remembered placements may take
+ * cacheWarmStart=B - true or false; whether a search not found starts from the nearest remembered placement
+ * grid=AXES    - Axes of the grid of a sweep; NAME=from:to:steps,... as ParameterSweep takes them
+ * methods=KEYS - Keys of the task offloading methods of a sweep, such as 1,2,3,6
+ * NAME=VALUE   - Value of the parameter NAME, such as ALPHA_BASE=3
+ * Any option not given keeps the value of the constant within Main, or for the cache, within PolicyRegistry.
+ */
+class RunOptions {
+
+    static final char SUITE = '0';                  // Mode which runs every method, the default of the menu
+    private static final String COLLECT = "collect"; // Mode value for data collection
+    private static final String[] FORMATS = {"text", "binary", "csv", "none"}; // By ResultWriter format
+    private static final String[] SAMPLINGS = {"independent", "common", "antithetic"}; // By Main sampling
+    static final String USAGE = "Usage: java Main [config=file] [mode=KEY|collect] [method=KEY|NAME] [runs=N] "
+            + "[seed=N] [format=text|binary|csv|none] "
+            + "[sampling=independent|common|antithetic] [precision=P] [output=DIR] [cache=true|false] "
+            + "[cacheQuantum=Q] [cacheBytes=N] [cacheWarmStart=true|false] [grid=NAME=from:to:steps,...] "
+            + "[methods=KEY,...] [PARAMETER=VALUE ...]";
+
+    private boolean interactive;        // If the mode is chosen from the menu
+    private boolean collecting;         // If data is collected rather than a mode run
+    private char mode;                  // Key of the choice of the menu
+    private int runs;                   // Times to repeat each method for data collection
+    private int sweepRuns;              // Times to repeat each method at each point of a sweep
+    private long seed;                  // Random number seed
+    private int sampling;               // Main.INDEPENDENT, COMMON or ANTITHETIC
+    private int format;                 // ResultWriter.TEXT, BINARY, CSV or NONE
+    private double precision;           // Relative half-width at which a method's runs stop; 0 to make every run
+    private String output;              // Directory results are written to
+    private boolean caching;            // If LC 100 and LAC 100 reuse placements found before
+    private double cacheQuantum;        // Bits; sizes are rounded to this when looking up a placement; 0 for exact
+    private long cacheBytes;            // Estimated bytes the remembered placements may take
+    private boolean cacheWarmStart;     // If searches start from the nearest remembered placement
+    private String grid;                // Axes of the grid of a sweep; NAME=from:to:steps,...
+    private char[] sweepMethods;        // Keys of the methods of a sweep
+    private Parameters params;          // Constants of the architecture and tasks
+
+    /**
+     * This constructor creates the options of an execution which uses the menu, with the constants of Main.
+     *
+     * @param collecting   If data is collected rather than the menu shown
+     * @param runs         Times to repeat each method for data collection
+     * @param seed         Random number seed
+     * @param sampling     Main.INDEPENDENT, COMMON or ANTITHETIC
+     * @param format       ResultWriter.TEXT, BINARY, CSV or NONE
+     * @param precision    Relative half-width at which a method's runs stop; 0 to make every run
+     * @param output       Directory results are written to
+     * @param grid         Axes of the grid of a sweep; NAME=from:to:steps,...
+     * @param sweepRuns    Times to repeat each method at each point of a sweep
+     * @param sweepMethods Keys of the methods of a sweep
+     */
+    RunOptions(boolean collecting, int runs, long seed, int sampling, int format, double precision, String output,
+               String grid, int sweepRuns, char[] sweepMethods) {
+        interactive = !collecting;
+        this.collecting = collecting;
+        mode = SUITE;
+        this.runs = runs;
+        this.seed = seed;
+        this.sampling = sampling;
+        this.format = format;
+        this.precision = precision;
+        this.output = output;
+        this.grid = grid;
+        this.sweepRuns = sweepRuns;
+        this.sweepMethods = sweepMethods;
+        caching = PolicyRegistry.USE_PLACEMENT_CACHE;
+        cacheQuantum = PolicyRegistry.CACHE_QUANTUM;
+        cacheBytes = PolicyRegistry.CACHE_BYTES;
+        cacheWarmStart = PolicyRegistry.CACHE_WARM_START;
+        params = new Parameters();
+    } // Constructor
+
+    /**
+     * This method sets the options given on the command line, so the menu is not shown.
+     *
+     * @param args Options, each of the form name=value
+     * @throws CustomException If an option is not of the form name=value, is not known or has an invalid value
+     */
+    void parse(String[] args) throws CustomException {
+        interactive = false;
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals <= 0) {
+                throw new CustomException("ERROR: Option " + arg + " is not of the form name=value\n" + USAGE);
+            }
+            String name = arg.substring(0, equals).trim();
+            String value = arg.substring(equals + 1).trim();
+            if (name.equals("config")) {
+                load(value);
+            } else {
+                set(name, value);
+            }
+        }
+    } // parse
+
+    /**
+     * This method sets the options held in a config file, one name=value per line as a Properties file.
+     *
+     * @param file The config file
+     * @throws CustomException If the file cannot be read or holds an invalid option
+     */
+    private void load(String file) throws CustomException {
+        Properties config = new Properties();
+        try (Reader in = new FileReader(file)) {
+            config.load(in);
+        } catch (IOException e) {
+            throw new CustomException("ERROR: Could not read config file " + file + ": " + e.getMessage());
+        }
+        for (String name : config.stringPropertyNames()) {
+            if (name.equals("config")) {
+                throw new CustomException("ERROR: Config file " + file + " may not name another config file");
+            }
+            set(name, config.getProperty(name).trim());
+        }
+    } // load
+
+    /**
+     * This method sets a single option.
+     *
+     * @param name  Name of the option
+     * @param value Value of the option
+     * @throws CustomException If the option is not known or the value is invalid
+     */
+    private void set(String name, String value) throws CustomException {
+        try {
+            switch (name) {
+                case "mode":
+                    collecting = value.equals(COLLECT);
+                    if (!collecting) {
+                        if (value.length() != 1) {
+                            throw new CustomException("ERROR: Mode " + value + " is not a key of the menu or "
+                                    + COLLECT);
+                        }
+                        mode = value.charAt(0);
+                    }
+                    break;
+                case "method":
+                    OffloadingPolicy policy = value.length() == 1 ? PolicyRegistry.byKey(value.charAt(0)) : null;
+                    for (int i = 0; policy == null && i < PolicyRegistry.count(); i++) {
+                        if (PolicyRegistry.get(i).name().equalsIgnoreCase(value)) {
+                            policy = PolicyRegistry.get(i);
+                        }
+                    }
+                    if (policy == null) {
+                        throw new CustomException("ERROR: No task offloading method named " + value);
+                    }
+                    collecting = false;
+                    mode = policy.key();
+                    break;
+                case "runs":
+                    runs = Integer.parseInt(value);
+                    if (runs < 1) {
+                        throw new CustomException("ERROR: runs must be at least 1");
+                    }
+                    sweepRuns = runs;
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "format":
+                    format = -1;
+                    for (int f = 0; f < FORMATS.length; f++) {
+                        if (FORMATS[f].equalsIgnoreCase(value)) {
+                            format = f;
+                        }
+                    }
+                    if (format < 0) {
+                        throw new CustomException("ERROR: Format " + value + " is not text, binary, csv or none");
+                    }
+                    break;
+                case "sampling":
+                    sampling = -1;
+                    for (int s = 0; s < SAMPLINGS.length; s++) {
+                        if (SAMPLINGS[s].equalsIgnoreCase(value)) {
+                            sampling = s;
+                        }
+                    }
+                    if (sampling < 0) {
+                        throw new CustomException("ERROR: Sampling " + value + " is not independent, common or "
+                                + "antithetic");
+                    }
+                    break;
+                case "precision":
+                    precision = Double.parseDouble(value);
+                    if (!(precision >= 0)) {
+                        throw new CustomException("ERROR: precision must not be negative");
+                    }
+                    break;
+                case "output":
+                    output = value;
+                    break;
+                case "cache":
+                    caching = parseBoolean(name, value);
+                    break;
+                case "cacheQuantum":
+                    cacheQuantum = Double.parseDouble(value);
+                    if (!(cacheQuantum >= 0)) {
+                        throw new CustomException("ERROR: cacheQuantum must not be negative");
+                    }
+                    break;
+                case "cacheBytes":
+                    cacheBytes = Long.parseLong(value);
+                    if (cacheBytes < 0) {
+                        throw new CustomException("ERROR: cacheBytes must not be negative");
+                    }
+                    break;
+                case "cacheWarmStart":
+                    cacheWarmStart = parseBoolean(name, value);
+                    break;
+                case "grid":
+                    new ParameterSweep(value); // Only to check it
+                    grid = value;
+                    break;
+                case "methods":
+                    sweepMethods = value.replace(",", "").replace(" ", "").toCharArray();
+                    if (sweepMethods.length == 0) {
+                        throw new CustomException("ERROR: methods must give at least one key");
+                    }
+                    for (char key : sweepMethods) {
+                        if (PolicyRegistry.byKey(key) == null) {
+                            throw new CustomException("ERROR: No task offloading method has the key " + key);
+                        }
+                    }
+                    break;
+                default:
+                    params.set(name, Double.parseDouble(value));
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new CustomException("ERROR: Option " + name + " has a value which is not a number: " + value);
+        }
+    } // set
+
+    /**
+     * @param name  Name of the option
+     * @param value Value of the option
+     * @return The value as a boolean
+     * @throws CustomException If the value is not true or false
+     */
+    private static boolean parseBoolean(String name, String value) throws CustomException {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new CustomException("ERROR: Option " + name + " is not true or false: " + value);
+        }
+        return Boolean.parseBoolean(value);
+    } // parseBoolean
+
+    // Getters
+    boolean isInteractive() {
+        return interactive;
+    }
+
+    boolean isCollecting() {
+        return collecting;
+    }
+
+    char getMode() {
+        return mode;
+    }
+
+    int getRuns() {
+        return runs;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    int getSampling() {
+        return sampling;
+    }
+
+    int getFormat() {
+        return format;
+    }
+
+    double getPrecision() {
+        return precision;
+    }
+
+    String getOutput() {
+        return output;
+    }
+
+    boolean isCaching() {
+        return caching;
+    }
+
+    double getCacheQuantum() {
+        return cacheQuantum;
+    }
+
+    long getCacheBytes() {
+        return cacheBytes;
+    }
+
+    boolean isCacheWarmStart() {
+        return cacheWarmStart;
+    }
+
+    String getGrid() {
+        return grid;
+    }
+
+    int getSweepRuns() {
+        return sweepRuns;
+    }
+
+    char[] getSweepMethods() {
+        return sweepMethods;
+    }
+
+    Parameters getParams() {
+        return params;
+    }
+}
@@ -0,0 +1,71 @@
+import static java.lang.Math.max;
+
+/**
+ * This class calculates the cost of many placements one placement at a time, exactly as CostModel.cost does.  It is
+ * used wherever the Vector API is not available.
+ */
+class ScalarPlacementScorer implements PlacementScorer {
+
+    private int numTasks;               // Number of tasks in the model
+    private double rho;                 // Weight of the delay within the cost
+    private double[][] energy;          // Jules; energy[location][task]
+    private double[][] time;            // Seconds; time[location][task]
+
+    /**
+     * This constructor prepares to score placements of the tasks of the given cost model.
+     *
+     * @param model Cost model of the tasks to be placed
+     */
+    ScalarPlacementScorer(CostModel model) {
+        numTasks = model.size();
+        rho = model.getRho();
+        energy = new double[CostModel.LOCATIONS][];
+        time = new double[CostModel.LOCATIONS][];
+        for (int loc = 0; loc < CostModel.LOCATIONS; loc++) {
+            energy[loc] = model.energyAt(loc);
+            time[loc] = model.timeAt(loc);
+        }
+    } // Constructor
+
+    @Override
+    public String name() {
+        return "Scalar";
+    }
+
+    @Override
+    public int lanes() {
+        return 1;
+    }
+
+    @Override
+    public void score(int[] codes, int stride, int count, double[] costs) {
+        score(codes, stride, 0, count, costs);
+    } // score
+
+    /**
+     * This method calculates the cost of some of several placements.
+     *
+     * @param codes  Location of task k in placement c at codes[k * stride + c]
+     * @param stride Distance between the locations of consecutive tasks within codes
+     * @param from   First placement to score
+     * @param to     Placement after the last to score
+     * @param costs  Filled with the cost of placement c at costs[c]
+     */
+    void score(int[] codes, int stride, int from, int to, double[] costs) {
+        int loc;
+        for (int c = from; c < to; c++) {
+            double tE = 0.0;        // Total energy
+            double timeL = 0.0;     // Total time delay from Local
+            double timeAP = 0.0;    // Total time delay from AP
+            double timeRC = 0.0;    // Total time delay from RC
+            for (int k = 0; k < numTasks; k++) {
+                loc = codes[k * stride + c];
+                tE += energy[loc][k];
+                if (loc == 0) timeL += time[0][k];
+                else if (loc == 1) timeAP += time[1][k];
+                else timeRC += time[2][k];
+            }
+            costs[c] = tE + rho * max(timeL, max(timeAP, timeRC));
+        }
+    } // score
+}
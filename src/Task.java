@@ -1,45 +1,71 @@
 /**
  * This class is meant to abstract the data and procedural components which relate to individual tasks which need to
  * be executed as outlined through the paper.
+ * <p>
+ * A task moves through the states NEW, MARKED, ARRIVED and CALCULATED as it is marked for a location, arrives there
+ * and is processed.  Each step checks the task is in a state it may be taken from only when the program is run with
+ * "java -Ddebug=true Main"; VALIDATE is then a constant, so otherwise the checks are removed by the JIT compiler and
+ * the tasks of trusted code such as the searches and data collection are resolved and costed without them.
+ * <p>
+ * A task may have a deadline, the time after its batch is released by which it should complete, and a weight, how much
+ * meeting that deadline matters against the other tasks.  A task without them never misses its deadline and has a
+ * weight of 1.
  */
 
 class Task {
+
+    static final boolean VALIDATE = Boolean.getBoolean("debug"); // Check every change of state, as a debug mode
+
+    // States of a task, in the order they are reached
+    private static final byte NEW = 0;          // Not yet marked for a location of processing
+    private static final byte MARKED = 1;       // Marked for a location of processing
+    private static final byte ARRIVED = 2;      // Arrived at the location of processing
+    private static final byte CALCULATED = 3;   // Energy use and processing time calculated
+
+    private static final byte NONE = -1;        // Location of a task not yet marked
     
     // Variables regardless of location of processing
     private double inputData;         // Bits - Input Data Size
     private double outputData;        // Bits - Output Data Size
     private double cyclesPerBit;     // Cycles per Bit - The number of CPU cycles necessary per byte of input data
-    private boolean marked;         // If the task has been marked for location of processing
-    private boolean arrived;        // If the task has arrived at the processing location
-    private boolean calculated;       // If the energy use and processing time of the task has been calculated
+    private double deadline;            // Seconds - Time after release the task should complete by
+    private double weight;              // Importance of meeting the deadline
+    private byte state;                 // Progress of the task; NEW, MARKED, ARRIVED or CALCULATED
+    private byte location;              // 0: Local User, 1: Access Point, 2: Remote Cloud or NONE if not marked
     private double procEnergy;          // Energy from phone used to process task
     private double procTime;            // Time to process task
     private double transEnergy;         // Energy from phone used to transmit task
     private double transTime;           // Time to transmit task
     
-    // Locally (L)
-    private boolean compL;            // Task is processed locally
-    
-    // Access Point (AP)
-    private boolean compAP;          // Task is processed on CAP
-    
-    // Remote Cloud (RC)
-    private boolean compRC;         // Task is processed on RC
-    
     /**
-     * This constructor creates a task and sets the variables and progress flags to their initial values.
+     * This constructor creates a task without a deadline and sets the variables and progress flags to their initial
+     * values.
      *
      * @param inputData    Input data size
      * @param outputData   Output data size
      * @param cyclesPerBit Cycles per Bit for Task
      */
     Task(double inputData, double outputData, double cyclesPerBit) {
+        this(inputData, outputData, cyclesPerBit, Double.POSITIVE_INFINITY, 1.0);
+    } // Constructor
+
+    /**
+     * This constructor creates a task and sets the variables and progress flags to their initial values.
+     *
+     * @param inputData    Input data size
+     * @param outputData   Output data size
+     * @param cyclesPerBit Cycles per Bit for Task
+     * @param deadline     Time after release the task should complete by; Double.POSITIVE_INFINITY for none
+     * @param weight       Importance of meeting the deadline
+     */
+    Task(double inputData, double outputData, double cyclesPerBit, double deadline, double weight) {
         this.inputData = inputData;
         this.outputData = outputData;
         this.cyclesPerBit = cyclesPerBit;
-        marked = false;
-        arrived = false;
-        calculated = false;
+        this.deadline = deadline;
+        this.weight = weight;
+        state = NEW;
+        location = NONE;
         procEnergy = 0.0;
         procTime = 0.0;
         transTime = 0.0;
@@ -55,18 +81,18 @@ class Task {
      * @throws CustomException Indicates program error
      */
     void processTask(double energyRate, double cpuRate, double constant) throws CustomException {
-        if (!marked || !arrived) { // Task not marked for processing and hasn't arrived to processing location
+        if (VALIDATE && state < ARRIVED) { // Task not marked for processing and hasn't arrived to processing location
             throw new CustomException("ERROR: Task being processed but not marked and/or not arrived");
         }
-        if (compL) { // Local
+        if (location == 0) { // Local
             procEnergy = inputData * cyclesPerBit * energyRate;
-        } else if (compAP) { // AP
+        } else if (location == 1) { // AP
             procEnergy = constant * inputData;
         } else { // RC
             procEnergy = constant * inputData;
         }
         procTime = inputData * cyclesPerBit / cpuRate;
-        calculated = true;
+        state = CALCULATED;
     } // processTask
     
     
@@ -79,14 +105,16 @@ class Task {
      * @throws CustomException Indicates program error
      */
     void sendToAP(double energyRate, double upRate, double downRate) throws CustomException {
-        if (compL || (!compAP && !compRC)) {
-            throw new CustomException("ERROR: Task sent to AP but not marked for this");
+        if (VALIDATE) {
+            if (location != 1 && location != 2) {
+                throw new CustomException("ERROR: Task sent to AP but not marked for this");
+            }
+            if (state == NEW || state == CALCULATED) {
+                throw new CustomException("ERROR: Task being sent to RC but not marked and/or already calculated");
+            }
         }
-        if (!marked || calculated) {
-            throw new CustomException("ERROR: Task being sent to RC but not marked and/or already calculated");
-        }
-        if (compAP) {
-            arrived = true;
+        if (location == 1) {
+            state = ARRIVED;
         }
         transTime += inputData / upRate + outputData / downRate;
         transEnergy += energyRate * inputData + energyRate * outputData;
@@ -100,13 +128,15 @@ class Task {
      * @throws CustomException Indicates program error
      */
     void sendToRC(double upRate, double downRate) throws CustomException {
-        if (compL || compAP || !compRC) {
-            throw new CustomException("ERROR: Task sent to RC but not marked for this");
-        }
-        if (!marked || calculated) {
-            throw new CustomException("ERROR: Task being sent to RC but not marked and/or already calculated");
+        if (VALIDATE) {
+            if (location != 2) {
+                throw new CustomException("ERROR: Task sent to RC but not marked for this");
+            }
+            if (state == NEW || state == CALCULATED) {
+                throw new CustomException("ERROR: Task being sent to RC but not marked and/or already calculated");
+            }
         }
-        arrived = true;
+        state = ARRIVED;
         transTime += inputData / upRate + outputData / downRate;
     } // sendToRC
     
@@ -115,7 +145,7 @@ class Task {
      * @throws CustomException Indicates program error
      */
     double totalEnergy() throws CustomException {
-        if (!marked || !arrived || !calculated) {
+        if (VALIDATE && state != CALCULATED) {
             throw new CustomException("ERROR: Attempt to calculate energy before calculated");
         }
         return transEnergy + procEnergy;
@@ -126,7 +156,7 @@ class Task {
      * @throws CustomException Indicates program error
      */
     double totalTime() throws CustomException {
-        if (!marked || !arrived || !calculated) {
+        if (VALIDATE && state != CALCULATED) {
             throw new CustomException("ERROR: Attempt to calculate time before calculated");
         }
         return transTime + procTime;
@@ -138,14 +168,14 @@ class Task {
      * @throws CustomException Indicates program error
      */
     void markL() throws CustomException {
-        if (arrived || calculated) {
+        if (VALIDATE && state > MARKED) {
             throw new CustomException("ERROR: Task being marked after arrival and/or calculation");
         }
-        marked = true;
-        arrived = true;
-        compL = true;
-        compAP = false;
-        compRC = false;
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.PLACED_L);
+        }
+        state = ARRIVED;
+        location = 0;
     }
     
     /**
@@ -154,14 +184,14 @@ class Task {
      * @throws CustomException Indicates program error
      */
     void markAP() throws CustomException {
-        if (arrived || calculated) {
+        if (VALIDATE && state > MARKED) {
             throw new CustomException("ERROR: Task being marked after arrival and/or calculation");
         }
-        marked = true;
-        arrived = false;
-        compL = false;
-        compAP = true;
-        compRC = false;
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.PLACED_AP);
+        }
+        state = MARKED;
+        location = 1;
     }
     
     /**
@@ -170,14 +200,14 @@ class Task {
      * @throws CustomException Indicates program error
      */
     void markRC() throws CustomException {
-        if (arrived || calculated) {
+        if (VALIDATE && state > MARKED) {
             throw new CustomException("ERROR: Task being marked after arrival and/or calculation");
         }
-        marked = true;
-        arrived = false;
-        compL = false;
-        compAP = false;
-        compRC = true;
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.PLACED_RC);
+        }
+        state = MARKED;
+        location = 2;
     }
 
     /**
@@ -187,7 +217,7 @@ class Task {
      * @throws CustomException Indicates program error
      */
     void mark(int location) throws CustomException {
-        if (arrived || calculated) {
+        if (VALIDATE && state > MARKED) {
             throw new CustomException("ERROR: Task being marked after arrival and/or calculation");
         }
         switch (location) {
@@ -207,9 +237,7 @@ class Task {
      * This method resets all the tasks so that they can be re-used to test another offloading method.
      */
     void reset() {
-        marked = true; // Unchanged location of processing when resetting
-        arrived = false;
-        calculated = false;
+        state = MARKED; // Unchanged location of processing when resetting
         procEnergy = 0.0;
         procTime = 0.0;
         transTime = 0.0;
@@ -218,11 +246,38 @@ class Task {
     
     // Getters
     boolean getCompL() {
-        return compL;
+        return location == 0;
     }
     
     boolean getCompAP() {
-        return compAP;
+        return location == 1;
+    }
+
+    /**
+     * @return 0: Local User, 1: Access Point, 2: Remote Cloud, or -1 if the task has not been marked
+     */
+    int getLocation() {
+        return location;
+    }
+    
+    double getInputData() {
+        return inputData;
+    }
+    
+    double getOutputData() {
+        return outputData;
+    }
+    
+    double getCyclesPerBit() {
+        return cyclesPerBit;
+    }
+
+    double getDeadline() {
+        return deadline;
+    }
+
+    double getWeight() {
+        return weight;
     }
     
 }
@@ -0,0 +1,192 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static java.lang.Math.max;
+
+/**
+ * This class holds a batch of tasks column by column in primitive arrays rather than as one Task object per task.
+ * Each task has an input and output data size, cycles per bit, a deadline and weight, a location of processing and,
+ * once resolved, its total energy and time.  The Local User, Access Point and Remote Cloud each resolve their part of
+ * a whole batch in a single loop.  The energy and time of each task are the same as a Task marked for the same
+ * location would produce.
+ */
+class TaskBatch {
+
+    private int size;                   // Number of tasks in the batch
+    private double[] inputData;         // Bits - Input Data Size
+    private double[] outputData;        // Bits - Output Data Size
+    private double[] cyclesPerBit;      // Cycles per Bit - The number of CPU cycles necessary per bit of input data
+    private double[] deadline;          // Seconds - Time after release the task should complete by
+    private double[] weight;            // Importance of meeting the deadline
+    private byte[] location;            // 0: Local User, 1: Access Point, 2: Remote Cloud
+    private double[] energy;            // Jules - Total energy of transmitting and processing the task
+    private double[] time;              // Seconds - Total time of transmitting and processing the task
+
+    /**
+     * This constructor creates an empty batch with room for the given number of tasks.
+     *
+     * @param capacity Number of tasks the batch can hold
+     */
+    TaskBatch(int capacity) {
+        size = 0;
+        inputData = new double[capacity];
+        outputData = new double[capacity];
+        cyclesPerBit = new double[capacity];
+        deadline = new double[capacity];
+        weight = new double[capacity];
+        location = new byte[capacity];
+        energy = new double[capacity];
+        time = new double[capacity];
+    } // Constructor
+
+    /**
+     * This constructor creates a batch holding the data sizes, cycles per bit, deadlines and weights of the given
+     * tasks, all placed on the Local User.
+     *
+     * @param tasks Tasks to copy
+     * @throws CustomException Indicates program error
+     */
+    TaskBatch(ArrayList<Task> tasks) throws CustomException {
+        this(tasks.size());
+        for (Task t : tasks) {
+            add(t.getInputData(), t.getOutputData(), t.getCyclesPerBit(), t.getDeadline(), t.getWeight());
+        }
+    } // Constructor
+
+    /**
+     * This method adds a task without a deadline, placed on the Local User, to the end of the batch.
+     *
+     * @param in  Input data size
+     * @param out Output data size
+     * @param cpb Cycles per bit
+     * @throws CustomException Indicates program error
+     */
+    void add(double in, double out, double cpb) throws CustomException {
+        add(in, out, cpb, Double.POSITIVE_INFINITY, 1.0);
+    } // add
+
+    /**
+     * This method adds a task, placed on the Local User, to the end of the batch.
+     *
+     * @param in  Input data size
+     * @param out Output data size
+     * @param cpb Cycles per bit
+     * @param due Time after release the task should complete by; Double.POSITIVE_INFINITY for none
+     * @param w   Importance of meeting the deadline
+     * @throws CustomException Indicates program error
+     */
+    void add(double in, double out, double cpb, double due, double w) throws CustomException {
+        if (size == inputData.length) {
+            throw new CustomException("ERROR: Task added to a full batch");
+        }
+        inputData[size] = in;
+        outputData[size] = out;
+        cyclesPerBit[size] = cpb;
+        deadline[size] = due;
+        weight[size] = w;
+        location[size] = 0;
+        size++;
+    } // add
+
+    /**
+     * This method removes every task so the batch can be filled again.
+     */
+    void clear() {
+        size = 0;
+    } // clear
+
+    /**
+     * This method places every task of the batch at the given locations.
+     *
+     * @param locations Location of each task; 0: Local User, 1: Access Point, 2: Remote Cloud
+     */
+    void place(int[] locations) {
+        for (int k = 0; k < size; k++) {
+            location[k] = (byte) locations[k];
+        }
+    } // place
+
+    /**
+     * This method places every task of the batch at the same location.
+     *
+     * @param loc 0: Local User, 1: Access Point, 2: Remote Cloud
+     */
+    void placeAll(int loc) {
+        Arrays.fill(location, 0, size, (byte) loc);
+    } // placeAll
+
+    /**
+     * This method calculates the cost, as defined within the paper, of the resolved batch.  The sums are accumulated
+     * in task order, exactly as Main.calcCost does, so that both produce identical results.
+     *
+     * @param rho Weight of the delay within the cost
+     * @return Cost of processing all tasks
+     */
+    double cost(double rho) {
+        double tE = 0.0;        // Total energy
+        double timeL = 0.0;     // Total time delay from Local
+        double timeAP = 0.0;    // Total time delay from AP
+        double timeRC = 0.0;    // Total time delay from RC
+        for (int k = 0; k < size; k++) {
+            tE += energy[k];
+            if (location[k] == 0) timeL += time[k];
+            else if (location[k] == 1) timeAP += time[k];
+            else timeRC += time[k];
+        }
+        return tE + rho * max(timeL, max(timeAP, timeRC));
+    } // cost
+
+    // Getters
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return inputData.length;
+    }
+
+    int getLocation(int k) {
+        return location[k];
+    }
+
+    double getEnergy(int k) {
+        return energy[k];
+    }
+
+    double getTime(int k) {
+        return time[k];
+    }
+
+    // Columns, shared with the batch for the resolving loops
+    double[] inputData() {
+        return inputData;
+    }
+
+    double[] outputData() {
+        return outputData;
+    }
+
+    double[] cyclesPerBit() {
+        return cyclesPerBit;
+    }
+
+    double[] deadline() {
+        return deadline;
+    }
+
+    double[] weight() {
+        return weight;
+    }
+
+    byte[] location() {
+        return location;
+    }
+
+    double[] energy() {
+        return energy;
+    }
+
+    double[] time() {
+        return time;
+    }
+}
@@ -0,0 +1,236 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class replays a workload trace recorded from real devices: the arrival time, input and output data sizes and
+ * cycles per bit of each task.  Traces may hold hundreds of millions of tasks, so they are never read onto the heap
+ * whole.  A binary trace is memory-mapped a window of WINDOW_RECORDS tasks at a time, as a single mapping cannot
+ * exceed 2 GB, and handed out in batches of the size of the TaskBatch given to next.
+ * <p>
+ * A binary trace is a header of HEADER_SIZE bytes followed by a record of RECORD_SIZE bytes per task, all
+ * little-endian.  The header is the int MAGIC, the int VERSION and the long number of tasks; each record is the doubles
+ * arrival time in seconds, input and output data size in bits and cycles per bit, with the tasks in order of arrival.
+ * Traces kept as CSV, with a row of arrival, input, output and cycles per bit for each task, are converted with
+ * importCsv, or by executing "java TraceFile trace.csv trace.bin" in a terminal.
+ */
+class TraceFile implements AutoCloseable {
+
+    static final int MAGIC = 0x4D434354;                // "MCCT"; identifies a binary trace
+    static final int VERSION = 1;                       // Layout of the records
+    static final int HEADER_SIZE = 4 + 4 + 8;           // Bytes; magic, version and number of tasks
+    static final int RECORD_SIZE = 4 * Double.BYTES;    // Bytes; arrival, input, output and cycles per bit
+    private static final int WINDOW_RECORDS = 1 << 25;  // Tasks mapped at once; 1 GB
+    private static final int BUFFER_SIZE = 1 << 16;     // Bytes buffered before writing to disk
+
+    private FileChannel channel;        // The open trace
+    private long numTasks;              // Number of tasks in the trace
+    private long next;                  // Index of the next task to be read
+    private long windowStart;           // Index of the first task of the window
+    private DoubleBuffer window;        // The mapped tasks, four doubles each
+    private double lastArrival;         // Arrival time of the last task read
+
+    /**
+     * This constructor opens a binary trace and checks its header and length.
+     *
+     * @param file Binary trace to read
+     * @throws IOException If the file cannot be read, or is not a whole binary trace
+     */
+    TraceFile(String file) throws IOException {
+        channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int read = 0;
+        while (header.hasRemaining() && read >= 0) {
+            read = channel.read(header);
+        }
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            channel.close();
+            throw new IOException(file + " is not a binary trace");
+        }
+        numTasks = header.getLong();
+        if (numTasks < 0 || channel.size() != HEADER_SIZE + numTasks * RECORD_SIZE) {
+            channel.close();
+            throw new IOException(file + " does not hold the " + numTasks + " tasks of its header");
+        }
+        next = 0;
+        windowStart = 0;
+        window = DoubleBuffer.allocate(0);
+        lastArrival = 0.0;
+    } // Constructor
+
+    /**
+     * This method fills a batch with the next tasks of the trace, as many as it can hold or as are left.  The batch
+     * is cleared first, so each batch of the trace may be placed and resolved in the same TaskBatch.
+     *
+     * @param batch    Filled with the data sizes and cycles per bit of the tasks, all placed on the Local User
+     * @param arrivals Filled with the arrival time of each task, or null if not needed
+     * @return Number of tasks read; 0 once the trace is exhausted
+     * @throws IOException If the trace cannot be read
+     */
+    int next(TaskBatch batch, double[] arrivals) throws IOException {
+        batch.clear();
+        int count = (int) Math.min(batch.capacity(), numTasks - next);
+        try {
+            for (int t = 0; t < count; t++) {
+                if (next - windowStart == window.limit() / 4) {
+                    map();
+                }
+                int i = (int) (next - windowStart) * 4;
+                lastArrival = window.get(i);
+                if (arrivals != null) {
+                    arrivals[t] = lastArrival;
+                }
+                batch.add(window.get(i + 1), window.get(i + 2), window.get(i + 3));
+                next++;
+            }
+        } catch (CustomException e) { // Unreachable as no more tasks than the capacity are added
+            throw new IOException(e.getMessage());
+        }
+        return count;
+    } // next
+
+    /**
+     * This method maps the window of the trace starting at the next task to be read.  The previous window is
+     * unmapped once it is no longer referenced.
+     *
+     * @throws IOException If the trace cannot be mapped
+     */
+    private void map() throws IOException {
+        long records = Math.min(WINDOW_RECORDS, numTasks - next);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + next * RECORD_SIZE, records * RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        windowStart = next;
+    } // map
+
+    /**
+     * This method starts the trace again from its first task.
+     */
+    void rewind() {
+        next = 0;
+        windowStart = 0;
+        window = DoubleBuffer.allocate(0);
+        lastArrival = 0.0;
+    } // rewind
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    } // close
+
+    // Getters
+    long size() {
+        return numTasks;
+    }
+
+    long getRead() {
+        return next;
+    }
+
+    double getLastArrival() {
+        return lastArrival;
+    }
+
+    /**
+     * Converts a CSV trace to a binary trace.
+     *
+     * @param args The CSV trace to read followed by the binary trace to write
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: java TraceFile trace.csv trace.bin");
+            return;
+        }
+        try {
+            System.out.println(importCsv(args[0], args[1]) + " tasks written to " + args[1]);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    } // main
+
+    /**
+     * This method converts a CSV trace to a binary trace, a line at a time so it may be of any size.  Each row holds
+     * the arrival time, input and output data size and cycles per bit of a task, separated by commas.  Blank lines,
+     * lines starting with # and a first line which is not numbers, such as a header, are skipped.
+     *
+     * @param csvFile   CSV trace to read
+     * @param traceFile Binary trace to write
+     * @return Number of tasks written
+     * @throws IOException If a file cannot be read or written, or a row is not a task in order of arrival
+     */
+    static long importCsv(String csvFile, String traceFile) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long count = 0;
+        long line = 0;
+        boolean first = true;       // No row has been read yet
+        double last = Double.NEGATIVE_INFINITY;
+        String row;
+        try (BufferedReader in = new BufferedReader(new FileReader(csvFile), BUFFER_SIZE);
+             FileChannel out = FileChannel.open(Paths.get(traceFile), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(0); // The number of tasks is written once known
+            while ((row = in.readLine()) != null) {
+                line++;
+                row = row.trim();
+                if (row.isEmpty() || row.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = row.split(",");
+                double[] values = new double[4];
+                try {
+                    if (fields.length != values.length) {
+                        throw new NumberFormatException();
+                    }
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = Double.parseDouble(fields[i].trim());
+                    }
+                } catch (NumberFormatException e) {
+                    if (first) { // A header
+                        first = false;
+                        continue;
+                    }
+                    throw new IOException(csvFile + ":" + line + ": expected arrival,input,output,cyclesPerBit");
+                }
+                if (!(values[0] >= last) || Double.isInfinite(values[0]) || !(values[1] >= 0) || !(values[2] >= 0)
+                        || !(values[3] >= 0) || Double.isInfinite(values[1] + values[2] + values[3])) {
+                    throw new IOException(csvFile + ":" + line + ": task is out of order of arrival or has a size "
+                            + "which is negative or not finite");
+                }
+                first = false;
+                last = values[0];
+                if (buffer.remaining() < RECORD_SIZE) {
+                    drain(buffer, out);
+                }
+                for (double v : values) {
+                    buffer.putDouble(v);
+                }
+                count++;
+            }
+            drain(buffer, out);
+            buffer.putLong(count).flip();
+            out.write(buffer, 8);
+        }
+        return count;
+    } // importCsv
+
+    /**
+     * This method writes the buffered bytes to a file.
+     *
+     * @param buffer Bytes to write
+     * @param out    File to write to
+     * @throws IOException If the bytes cannot be written
+     */
+    private static void drain(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    } // drain
+}
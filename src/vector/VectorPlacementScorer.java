@@ -0,0 +1,88 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class calculates the cost of many placements at once with the Vector API, one placement to each lane of the
+ * widest vectors of the processor.  For each task the locations of the placements are compared against each location to
+ * choose the task's energy in each lane, and its time is added to the delay of each location only in the lanes which
+ * place it there; the locations are converted to doubles to be compared, as comparing them as ints and converting the
+ * masks is not compiled to vector instructions.  Every lane therefore adds the same numbers in the same order as
+ * CostModel.cost, so the costs are identical bit for bit; placements left over after the last whole vector are scored
+ * one at a time.
+ * <p>
+ * The class needs the incubating Vector API, so it is compiled and run separately from the rest of the simulation:
+ * 1 - Navigate to MCCProject/src in a Bash terminal
+ * 2 - Execute "javac *.java" in the terminal
+ * 3 - Execute "javac --add-modules jdk.incubator.vector -cp . -d . vector/VectorPlacementScorer.java"
+ * 4 - Execute "java --add-modules jdk.incubator.vector Main" in the terminal
+ * PlacementScorer.of then loads it by name.
+ */
+class VectorPlacementScorer implements PlacementScorer {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class,
+            VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE)); // As many lanes as DOUBLES
+
+    private int numTasks;               // Number of tasks in the model
+    private double rho;                 // Weight of the delay within the cost
+    private double[][] energy;          // Jules; energy[location][task]
+    private double[][] time;            // Seconds; time[location][task]
+    private ScalarPlacementScorer tail; // Scores the placements after the last whole vector
+
+    /**
+     * This constructor prepares to score placements of the tasks of the given cost model.
+     *
+     * @param model Cost model of the tasks to be placed
+     */
+    VectorPlacementScorer(CostModel model) {
+        numTasks = model.size();
+        rho = model.getRho();
+        energy = new double[CostModel.LOCATIONS][];
+        time = new double[CostModel.LOCATIONS][];
+        for (int loc = 0; loc < CostModel.LOCATIONS; loc++) {
+            energy[loc] = model.energyAt(loc);
+            time[loc] = model.timeAt(loc);
+        }
+        tail = new ScalarPlacementScorer(model);
+    } // Constructor
+
+    @Override
+    public String name() {
+        return "Vector (" + DOUBLES.length() + " lanes)";
+    }
+
+    @Override
+    public int lanes() {
+        return DOUBLES.length();
+    }
+
+    @Override
+    public void score(int[] codes, int stride, int count, double[] costs) {
+        int whole = DOUBLES.loopBound(count);
+        DoubleVector zero = DoubleVector.zero(DOUBLES);
+        for (int c = 0; c < whole; c += DOUBLES.length()) {
+            DoubleVector tE = zero;         // Total energy
+            DoubleVector timeL = zero;      // Total time delay from Local
+            DoubleVector timeAP = zero;     // Total time delay from AP
+            DoubleVector timeRC = zero;     // Total time delay from RC
+            for (int k = 0; k < numTasks; k++) {
+                DoubleVector loc = (DoubleVector) IntVector.fromArray(INTS, codes, k * stride + c)
+                        .convertShape(VectorOperators.I2D, DOUBLES, 0);
+                VectorMask<Double> atL = loc.compare(VectorOperators.EQ, 0.0);
+                VectorMask<Double> atAP = loc.compare(VectorOperators.EQ, 1.0);
+                VectorMask<Double> atRC = atL.or(atAP).not();
+                tE = tE.add(DoubleVector.broadcast(DOUBLES, energy[2][k])
+                        .blend(energy[1][k], atAP).blend(energy[0][k], atL));
+                timeL = timeL.add(time[0][k], atL);
+                timeAP = timeAP.add(time[1][k], atAP);
+                timeRC = timeRC.add(time[2][k], atRC);
+            }
+            tE.add(timeL.max(timeAP.max(timeRC)).mul(rho)).intoArray(costs, c);
+        }
+        tail.score(codes, stride, whole, count, costs);
+    } // score
+}